@@ -0,0 +1,26 @@
+package com.savjul.math.egraph;
+
+@FunctionalInterface
+public interface CostModel {
+    double cost(ENode node, double[] childCosts);
+
+    static CostModel size() {
+        return (node, childCosts) -> {
+            double cost = 1;
+            for (double childCost : childCosts) {
+                cost += childCost;
+            }
+            return cost;
+        };
+    }
+
+    static CostModel depth() {
+        return (node, childCosts) -> {
+            double cost = 0;
+            for (double childCost : childCosts) {
+                cost = Math.max(cost, childCost);
+            }
+            return cost + 1;
+        };
+    }
+}
@@ -0,0 +1,392 @@
+package com.savjul.math.egraph;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Exponent;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Rational;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.BasicComparison;
+import com.savjul.math.transformers.ConstantFolding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hash-consed e-graph: e-classes of equivalent e-nodes kept in a union-find, with congruence restored lazily by
+ * {@link #rebuild()}. Each e-class carries a constant-folding analysis; a class that is known to be a constant gets
+ * the corresponding constant node so extraction can always pick it.
+ */
+final class EGraph {
+    private final Map<ENode, Integer> memo = new HashMap<>();
+    private final List<EClass> classes = new ArrayList<>();
+    private final List<Integer> pending = new ArrayList<>();
+    private int[] parent = new int[64];
+    private int nodeCount;
+
+    private static final class EClass {
+        private List<ENode> nodes = new ArrayList<>(2);
+        private List<ENode> parentNodes = new ArrayList<>(2);
+        private List<Integer> parentClasses = new ArrayList<>(2);
+        private Constant<?> constant;
+    }
+
+    int find(int id) {
+        int root = id;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[id] != root) {
+            int next = parent[id];
+            parent[id] = root;
+            id = next;
+        }
+        return root;
+    }
+
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    int getClassCount() {
+        int count = 0;
+        for (int id = 0; id < classes.size(); id++) {
+            if (parent[id] == id) count++;
+        }
+        return count;
+    }
+
+    List<Integer> classIds() {
+        List<Integer> result = new ArrayList<>();
+        for (int id = 0; id < classes.size(); id++) {
+            if (parent[id] == id) result.add(id);
+        }
+        return result;
+    }
+
+    List<ENode> nodes(int id) {
+        return classes.get(find(id)).nodes;
+    }
+
+    Constant<?> constant(int id) {
+        return classes.get(find(id)).constant;
+    }
+
+    int add(Expression expression) {
+        if (expression instanceof Transcendental || expression instanceof Constant) {
+            return add(new ENode(Operator.CONSTANT, expression));
+        }
+        if (expression instanceof Variable) {
+            return add(new ENode(Operator.VARIABLE, ((Variable) expression).getName()));
+        }
+        if (expression instanceof Polynomial) {
+            return fold(Operator.ADD, ((Polynomial) expression).getTerms(), Constant.ZERO);
+        }
+        if (expression instanceof Term) {
+            return fold(Operator.MULTIPLY, ((Term) expression).getFactors(), Constant.ONE);
+        }
+        if (expression instanceof Exponent) {
+            Exponent exponent = (Exponent) expression;
+            return add(Operator.POWER, add(exponent.getBase()), add(exponent.getPower()));
+        }
+        if (expression instanceof Rational) {
+            Rational rational = (Rational) expression;
+            return add(Operator.DIVIDE, add(rational.getNumerator()), add(rational.getDenominator()));
+        }
+        if (expression instanceof Trigonometric) {
+            Trigonometric trigonometric = (Trigonometric) expression;
+            return add(new ENode(Operator.TRIGONOMETRIC, trigonometric.getName(), add(trigonometric.getArgument())));
+        }
+        throw new IllegalArgumentException("Cannot add " + expression.getClass().getSimpleName() + " to an e-graph");
+    }
+
+    private int fold(Operator operator, List<Expression> operands, Constant<?> identity) {
+        if (operands.isEmpty()) {
+            return add(identity);
+        }
+        int result = add(operands.get(0));
+        for (int idx = 1; idx < operands.size(); idx++) {
+            result = add(operator, result, add(operands.get(idx)));
+        }
+        return result;
+    }
+
+    int add(Operator operator, int... children) {
+        return add(new ENode(operator, null, children));
+    }
+
+    int add(ENode node) {
+        ENode canonical = node.canonical(this);
+        Integer existing = memo.get(canonical);
+        if (existing != null) {
+            return find(existing);
+        }
+        int id = classes.size();
+        if (id == parent.length) {
+            parent = Arrays.copyOf(parent, 2 * id);
+        }
+        parent[id] = id;
+        EClass eclass = new EClass();
+        eclass.nodes.add(canonical);
+        classes.add(eclass);
+        for (int idx = 0; idx < canonical.getArity(); idx++) {
+            EClass child = classes.get(canonical.child(idx));
+            child.parentNodes.add(canonical);
+            child.parentClasses.add(id);
+        }
+        memo.put(canonical, id);
+        nodeCount++;
+        eclass.constant = make(canonical);
+        if (eclass.constant != null && canonical.getOperator() != Operator.CONSTANT) {
+            union(id, add(new ENode(Operator.CONSTANT, eclass.constant)));
+        }
+        return find(id);
+    }
+
+    boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return false;
+        }
+        if (classes.get(ra).parentNodes.size() < classes.get(rb).parentNodes.size()) {
+            int tmp = ra;
+            ra = rb;
+            rb = tmp;
+        }
+        EClass root = classes.get(ra);
+        EClass merged = classes.get(rb);
+        parent[rb] = ra;
+        root.nodes.addAll(merged.nodes);
+        root.parentNodes.addAll(merged.parentNodes);
+        root.parentClasses.addAll(merged.parentClasses);
+        if (root.constant == null) {
+            root.constant = merged.constant;
+        }
+        classes.set(rb, null);
+        pending.add(ra);
+        return true;
+    }
+
+    // restores the congruence invariant: equal canonical nodes live in the same e-class
+    void rebuild() {
+        while (!pending.isEmpty()) {
+            Set<Integer> todo = new LinkedHashSet<>();
+            for (Integer id : pending) {
+                todo.add(find(id));
+            }
+            pending.clear();
+            for (Integer id : todo) {
+                repair(find(id));
+            }
+        }
+        for (int id = 0; id < classes.size(); id++) {
+            if (parent[id] == id) {
+                EClass eclass = classes.get(id);
+                Set<ENode> unique = new LinkedHashSet<>();
+                for (ENode node : eclass.nodes) {
+                    unique.add(node.canonical(this));
+                }
+                eclass.nodes = new ArrayList<>(unique);
+            }
+        }
+    }
+
+    private void repair(int id) {
+        EClass eclass = classes.get(id);
+        List<ENode> parentNodes = eclass.parentNodes;
+        List<Integer> parentClasses = eclass.parentClasses;
+        eclass.parentNodes = new ArrayList<>();
+        eclass.parentClasses = new ArrayList<>();
+        for (ENode node : parentNodes) {
+            memo.remove(node);
+        }
+        Map<ENode, Integer> unique = new LinkedHashMap<>();
+        for (int idx = 0; idx < parentNodes.size(); idx++) {
+            ENode canonical = parentNodes.get(idx).canonical(this);
+            int parentClass = find(parentClasses.get(idx));
+            memo.put(canonical, parentClass);
+            Integer previous = unique.put(canonical, parentClass);
+            if (previous != null) {
+                union(previous, parentClass);
+            }
+        }
+        for (Map.Entry<ENode, Integer> entry : unique.entrySet()) {
+            int parentClass = find(entry.getValue());
+            EClass root = classes.get(find(id));
+            root.parentNodes.add(entry.getKey());
+            root.parentClasses.add(parentClass);
+            if (classes.get(parentClass).constant == null) {
+                Constant<?> constant = make(entry.getKey().canonical(this));
+                if (constant != null) {
+                    classes.get(parentClass).constant = constant;
+                    union(parentClass, add(new ENode(Operator.CONSTANT, constant)));
+                }
+            }
+        }
+        int current = find(id);
+        Constant<?> constant = classes.get(current).constant;
+        if (constant != null) {
+            union(current, add(new ENode(Operator.CONSTANT, constant)));
+        }
+    }
+
+    // constant-folding analysis; transcendental constants stay symbolic so that π is not replaced by a double
+    private Constant<?> make(ENode node) {
+        switch (node.getOperator()) {
+            case CONSTANT:
+                return node.payload() instanceof Transcendental ? null : node.getConstant();
+            case ADD:
+            case MULTIPLY:
+            case POWER:
+            case DIVIDE:
+                Constant<?> left = classes.get(find(node.child(0))).constant;
+                Constant<?> right = classes.get(find(node.child(1))).constant;
+                if (left == null || right == null) {
+                    return null;
+                }
+                return fold(node.getOperator(), left, right);
+            default:
+                return null;
+        }
+    }
+
+    private static Constant<?> fold(Operator operator, Constant<?> left, Constant<?> right) {
+        try {
+            switch (operator) {
+                case ADD:
+                    return ConstantFolding.add(left, right);
+                case MULTIPLY:
+                    return ConstantFolding.multiply(left, right);
+                case DIVIDE:
+                    return right.isZero() ? null : ConstantFolding.divide(left, right);
+                default:
+                    if (left.isZero() && ConstantFolding.compare(right, Constant.ZERO) <= 0) {
+                        return null;
+                    }
+                    Expression result = ConstantFolding.pow(left, right);
+                    return result instanceof Constant ? (Constant<?>) result : null;
+            }
+        }
+        catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    Extraction extract(CostModel costModel) {
+        int size = classes.size();
+        double[] best = new double[size];
+        ENode[] choice = new ENode[size];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        List<Integer> ids = classIds();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int id : ids) {
+                for (ENode node : classes.get(id).nodes) {
+                    double[] childCosts = new double[node.getArity()];
+                    boolean finite = true;
+                    for (int idx = 0; idx < childCosts.length && finite; idx++) {
+                        childCosts[idx] = best[find(node.child(idx))];
+                        finite = childCosts[idx] != Double.POSITIVE_INFINITY;
+                    }
+                    if (!finite) continue;
+                    double cost = costModel.cost(node, childCosts);
+                    if (cost < best[id]) {
+                        best[id] = cost;
+                        choice[id] = node;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return new Extraction(best, choice);
+    }
+
+    final class Extraction {
+        private final double[] best;
+        private final ENode[] choice;
+        private final Map<Integer, Expression> built = new HashMap<>();
+
+        private Extraction(double[] best, ENode[] choice) {
+            this.best = best;
+            this.choice = choice;
+        }
+
+        double cost(int id) {
+            return best[find(id)];
+        }
+
+        Expression build(int id) {
+            return build(find(id), 0);
+        }
+
+        private Expression build(int id, int depth) {
+            Expression result = built.get(id);
+            if (result != null) {
+                return result;
+            }
+            if (depth > classes.size()) {
+                throw new IllegalStateException("Cost model is not monotone; extraction does not terminate");
+            }
+            ENode node = choice[id];
+            switch (node.getOperator()) {
+                case CONSTANT:
+                    result = (Expression) node.payload();
+                    break;
+                case VARIABLE:
+                    result = Variable.of(node.getName());
+                    break;
+                case ADD: {
+                    List<Expression> terms = new ArrayList<>();
+                    for (int idx = 0; idx < 2; idx++) {
+                        terms.addAll(Polynomial.getTerms(build(find(node.child(idx)), depth + 1)));
+                    }
+                    terms.sort(BasicComparison.terms());
+                    result = Polynomial.of(terms);
+                    break;
+                }
+                case MULTIPLY: {
+                    List<Expression> factors = new ArrayList<>();
+                    for (int idx = 0; idx < 2; idx++) {
+                        factors.addAll(Term.getFactors(build(find(node.child(idx)), depth + 1)));
+                    }
+                    factors.sort(BasicComparison.factors());
+                    result = Term.of(factors);
+                    break;
+                }
+                case POWER:
+                    result = Exponent.of(build(find(node.child(0)), depth + 1), build(find(node.child(1)), depth + 1));
+                    break;
+                case DIVIDE:
+                    result = Rational.of(build(find(node.child(0)), depth + 1), build(find(node.child(1)), depth + 1));
+                    break;
+                default:
+                    result = trigonometric(node.getName(), build(find(node.child(0)), depth + 1));
+            }
+            built.put(id, result);
+            return result;
+        }
+    }
+
+    private static Expression trigonometric(String name, Expression argument) {
+        switch (name) {
+            case "sin": return Trigonometric.sin(argument);
+            case "cos": return Trigonometric.cos(argument);
+            case "tan": return Trigonometric.tan(argument);
+            case "csc": return Trigonometric.sin(argument).invert();
+            case "sec": return Trigonometric.cos(argument).invert();
+            case "cot": return Trigonometric.tan(argument).invert();
+            default: throw new IllegalArgumentException("Unknown trigonometric function " + name);
+        }
+    }
+}
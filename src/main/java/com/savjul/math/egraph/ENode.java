@@ -0,0 +1,77 @@
+package com.savjul.math.egraph;
+
+import com.savjul.math.expression.simple.Constant;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// an operator applied to e-classes; leaves carry a constant, variable name or trigonometric function name
+public final class ENode {
+    private final Operator operator;
+    private final Object payload;
+    private final int[] children;
+    private final int hash;
+
+    ENode(Operator operator, Object payload, int... children) {
+        this.operator = operator;
+        this.payload = payload;
+        this.children = children;
+        this.hash = 31 * (31 * operator.hashCode() + Objects.hashCode(payload)) + Arrays.hashCode(children);
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Constant<?> getConstant() {
+        return operator == Operator.CONSTANT ? (Constant<?>) payload : null;
+    }
+
+    public String getName() {
+        return operator == Operator.VARIABLE || operator == Operator.TRIGONOMETRIC ? (String) payload : null;
+    }
+
+    public int getArity() {
+        return children.length;
+    }
+
+    Object payload() {
+        return payload;
+    }
+
+    int child(int idx) {
+        return children[idx];
+    }
+
+    ENode canonical(EGraph graph) {
+        if (children.length == 0) {
+            return this;
+        }
+        int[] result = new int[children.length];
+        boolean changed = false;
+        for (int idx = 0; idx < children.length; idx++) {
+            result[idx] = graph.find(children[idx]);
+            changed |= result[idx] != children[idx];
+        }
+        return changed ? new ENode(operator, payload, result) : this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ENode node = (ENode) o;
+        return hash == node.hash && operator == node.operator && Objects.equals(payload, node.payload)
+                && Arrays.equals(children, node.children);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return operator + (payload == null ? "" : "(" + payload + ")") + Arrays.toString(children);
+    }
+}
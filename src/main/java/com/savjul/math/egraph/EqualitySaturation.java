@@ -0,0 +1,197 @@
+package com.savjul.math.egraph;
+
+import com.savjul.math.expression.Expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Simplifies by equality saturation: the expression is loaded into an {@link EGraph}, every rule is matched against
+ * every e-node and the results are merged until nothing changes or a budget runs out, and the cheapest
+ * representative of the root e-class under the {@link CostModel} is extracted. Budgets are checked between rule
+ * applications, so a run overshoots the node limit by at most one right-hand side.
+ */
+public final class EqualitySaturation implements Function<Expression, Expression> {
+    public enum StopReason { SATURATED, ITERATION_LIMIT, NODE_LIMIT, TIME_LIMIT }
+
+    private final List<Rule> rules;
+    private final CostModel costModel;
+    private final int nodeLimit;
+    private final int iterationLimit;
+    private final long timeLimitNanos;
+
+    public static Builder get() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+        private CostModel costModel = CostModel.size();
+        private int nodeLimit = 10_000;
+        private int iterationLimit = 30;
+        private long timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+        private Builder() {}
+
+        public Builder rule(Rule rule) {
+            this.rules.add(rule);
+            return this;
+        }
+
+        public Builder rules(List<Rule> rules) {
+            this.rules.addAll(rules);
+            return this;
+        }
+
+        public Builder costModel(CostModel costModel) {
+            this.costModel = costModel;
+            return this;
+        }
+
+        public Builder nodeLimit(int nodeLimit) {
+            if (nodeLimit <= 0) throw new IllegalArgumentException("Node limit must be positive: " + nodeLimit);
+            this.nodeLimit = nodeLimit;
+            return this;
+        }
+
+        public Builder iterationLimit(int iterationLimit) {
+            if (iterationLimit <= 0) throw new IllegalArgumentException("Iteration limit must be positive: " + iterationLimit);
+            this.iterationLimit = iterationLimit;
+            return this;
+        }
+
+        public Builder timeLimit(long duration, TimeUnit unit) {
+            if (duration <= 0) throw new IllegalArgumentException("Time limit must be positive: " + duration);
+            this.timeLimitNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public EqualitySaturation build() {
+            return new EqualitySaturation(rules.isEmpty() ? Rules.defaults() : new ArrayList<>(rules), costModel,
+                    nodeLimit, iterationLimit, timeLimitNanos);
+        }
+    }
+
+    private EqualitySaturation(List<Rule> rules, CostModel costModel, int nodeLimit, int iterationLimit,
+                               long timeLimitNanos) {
+        this.rules = rules;
+        this.costModel = costModel;
+        this.nodeLimit = nodeLimit;
+        this.iterationLimit = iterationLimit;
+        this.timeLimitNanos = timeLimitNanos;
+    }
+
+    @Override
+    public Expression apply(Expression expression) {
+        return run(expression).getExpression();
+    }
+
+    public Result run(Expression expression) {
+        long deadline = System.nanoTime() + timeLimitNanos;
+        EGraph graph = new EGraph();
+        int root = graph.add(expression);
+        graph.rebuild();
+        StopReason reason = StopReason.ITERATION_LIMIT;
+        int iterations = 0;
+        while (iterations < iterationLimit) {
+            StopReason stop = iterate(graph, deadline);
+            iterations++;
+            if (stop != null) {
+                reason = stop;
+                break;
+            }
+        }
+        EGraph.Extraction extraction = graph.extract(costModel);
+        return new Result(extraction.build(root), extraction.cost(root), iterations, graph.getNodeCount(),
+                graph.getClassCount(), reason);
+    }
+
+    // one search-then-apply round; null when the graph changed and saturation should continue
+    private StopReason iterate(EGraph graph, long deadline) {
+        List<Rule.Match> matches = new ArrayList<>();
+        for (int eclass : graph.classIds()) {
+            for (ENode node : new ArrayList<>(graph.nodes(eclass))) {
+                for (Rule rule : rules) {
+                    rule.search(graph, eclass, node, matches);
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                return StopReason.TIME_LIMIT;
+            }
+        }
+        int nodes = graph.getNodeCount();
+        boolean changed = false;
+        StopReason reason = null;
+        for (int idx = 0; idx < matches.size(); idx++) {
+            Rule.Match match = matches.get(idx);
+            changed |= graph.union(match.eclass, match.rhs.getAsInt());
+            if (graph.getNodeCount() >= nodeLimit) {
+                reason = StopReason.NODE_LIMIT;
+                break;
+            }
+            if ((idx & 63) == 63 && System.nanoTime() > deadline) {
+                reason = StopReason.TIME_LIMIT;
+                break;
+            }
+        }
+        graph.rebuild();
+        if (reason != null) {
+            return reason;
+        }
+        if (System.nanoTime() > deadline) {
+            return StopReason.TIME_LIMIT;
+        }
+        return changed || graph.getNodeCount() != nodes ? null : StopReason.SATURATED;
+    }
+
+    public static final class Result {
+        private final Expression expression;
+        private final double cost;
+        private final int iterations;
+        private final int nodeCount;
+        private final int classCount;
+        private final StopReason stopReason;
+
+        private Result(Expression expression, double cost, int iterations, int nodeCount, int classCount,
+                       StopReason stopReason) {
+            this.expression = expression;
+            this.cost = cost;
+            this.iterations = iterations;
+            this.nodeCount = nodeCount;
+            this.classCount = classCount;
+            this.stopReason = stopReason;
+        }
+
+        public Expression getExpression() {
+            return expression;
+        }
+
+        public double getCost() {
+            return cost;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        public int getClassCount() {
+            return classCount;
+        }
+
+        public StopReason getStopReason() {
+            return stopReason;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (cost=%.1f, iterations=%d, nodes=%d, classes=%d, %s)", expression, cost,
+                    iterations, nodeCount, classCount, stopReason);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.savjul.math.egraph;
+
+public enum Operator {
+    CONSTANT(0), VARIABLE(0), ADD(2), MULTIPLY(2), POWER(2), DIVIDE(2), TRIGONOMETRIC(1);
+
+    private final int arity;
+
+    Operator(int arity) {
+        this.arity = arity;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+}
@@ -0,0 +1,43 @@
+package com.savjul.math.egraph;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+public final class Rule {
+    private final String name;
+    private final Searcher searcher;
+
+    @FunctionalInterface
+    interface Searcher {
+        void search(EGraph graph, int eclass, ENode node, List<Match> matches);
+    }
+
+    // a pending rewrite: the class produced by rhs is merged into eclass once all matches of an iteration are found
+    static final class Match {
+        final int eclass;
+        final IntSupplier rhs;
+
+        Match(int eclass, IntSupplier rhs) {
+            this.eclass = eclass;
+            this.rhs = rhs;
+        }
+    }
+
+    Rule(String name, Searcher searcher) {
+        this.name = name;
+        this.searcher = searcher;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void search(EGraph graph, int eclass, ENode node, List<Match> matches) {
+        searcher.search(graph, eclass, node, matches);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,290 @@
+package com.savjul.math.egraph;
+
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.transformers.ConstantFolding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// rewrite rules over binary e-nodes; each rule inspects one e-node and the e-nodes of its children
+public final class Rules {
+    private static final Map<String, String> RECIPROCALS = new HashMap<>();
+
+    static {
+        RECIPROCALS.put("sin", "csc");
+        RECIPROCALS.put("cos", "sec");
+        RECIPROCALS.put("tan", "cot");
+        RECIPROCALS.put("csc", "sin");
+        RECIPROCALS.put("sec", "cos");
+        RECIPROCALS.put("cot", "tan");
+    }
+
+    public static final Rule ADD_COMMUTATIVITY = new Rule("add-commutativity", (g, c, n, out) -> {
+        if (n.getOperator() == Operator.ADD) {
+            out.add(new Rule.Match(c, () -> g.add(Operator.ADD, n.child(1), n.child(0))));
+        }
+    });
+
+    public static final Rule MULTIPLY_COMMUTATIVITY = new Rule("multiply-commutativity", (g, c, n, out) -> {
+        if (n.getOperator() == Operator.MULTIPLY) {
+            out.add(new Rule.Match(c, () -> g.add(Operator.MULTIPLY, n.child(1), n.child(0))));
+        }
+    });
+
+    public static final Rule ADD_ASSOCIATIVITY = associativity("add-associativity", Operator.ADD);
+
+    public static final Rule MULTIPLY_ASSOCIATIVITY = associativity("multiply-associativity", Operator.MULTIPLY);
+
+    // a(b + c) -> ab + ac
+    public static final Rule DISTRIBUTE = new Rule("distribute", (g, c, n, out) -> {
+        if (n.getOperator() != Operator.MULTIPLY) return;
+        int a = n.child(0);
+        for (ENode sum : g.nodes(n.child(1))) {
+            if (sum.getOperator() == Operator.ADD) {
+                out.add(new Rule.Match(c, () -> g.add(Operator.ADD,
+                        g.add(Operator.MULTIPLY, a, sum.child(0)), g.add(Operator.MULTIPLY, a, sum.child(1)))));
+            }
+        }
+    });
+
+    // ab + ac -> a(b + c), a + ac -> a(1 + c) and a + a -> 2a
+    public static final Rule FACTOR = new Rule("factor", (g, c, n, out) -> {
+        if (n.getOperator() != Operator.ADD) return;
+        int left = g.find(n.child(0));
+        int right = g.find(n.child(1));
+        if (left == right) {
+            out.add(new Rule.Match(c, () -> g.add(Operator.MULTIPLY, g.add(Constant.of(2)), left)));
+            return;
+        }
+        for (ENode r : g.nodes(right)) {
+            if (r.getOperator() != Operator.MULTIPLY) continue;
+            if (g.find(r.child(0)) == left) {
+                out.add(new Rule.Match(c, () -> g.add(Operator.MULTIPLY, left,
+                        g.add(Operator.ADD, g.add(Constant.ONE), r.child(1)))));
+            }
+            for (ENode l : g.nodes(left)) {
+                if (l.getOperator() == Operator.MULTIPLY && g.find(l.child(0)) == g.find(r.child(0))) {
+                    out.add(new Rule.Match(c, () -> g.add(Operator.MULTIPLY, l.child(0),
+                            g.add(Operator.ADD, l.child(1), r.child(1)))));
+                }
+            }
+        }
+    });
+
+    // a + 0 -> a, a * 1 -> a, a * 0 -> 0, a^1 -> a, a^0 -> 1, a/1 -> a
+    public static final Rule IDENTITIES = new Rule("identities", (g, c, n, out) -> {
+        switch (n.getOperator()) {
+            case ADD:
+                if (is(g, n.child(1), 0)) out.add(new Rule.Match(c, () -> n.child(0)));
+                break;
+            case MULTIPLY:
+                if (is(g, n.child(1), 1)) out.add(new Rule.Match(c, () -> n.child(0)));
+                if (is(g, n.child(1), 0)) out.add(new Rule.Match(c, () -> n.child(1)));
+                break;
+            case POWER:
+                if (is(g, n.child(1), 1)) out.add(new Rule.Match(c, () -> n.child(0)));
+                if (is(g, n.child(1), 0)) out.add(new Rule.Match(c, () -> g.add(Constant.ONE)));
+                break;
+            case DIVIDE:
+                if (is(g, n.child(1), 1)) out.add(new Rule.Match(c, () -> n.child(0)));
+                break;
+            default:
+        }
+    });
+
+    // a * a -> a^2, a * a^n -> a^(n + 1), a^m * a^n -> a^(m + n)
+    public static final Rule POWER_PRODUCT = new Rule("power-product", (g, c, n, out) -> {
+        if (n.getOperator() != Operator.MULTIPLY) return;
+        int left = g.find(n.child(0));
+        int right = g.find(n.child(1));
+        if (left == right) {
+            out.add(new Rule.Match(c, () -> g.add(Operator.POWER, left, g.add(Constant.of(2)))));
+        }
+        for (ENode r : g.nodes(right)) {
+            if (r.getOperator() != Operator.POWER) continue;
+            if (g.find(r.child(0)) == left) {
+                out.add(new Rule.Match(c, () -> g.add(Operator.POWER, left,
+                        g.add(Operator.ADD, r.child(1), g.add(Constant.ONE)))));
+            }
+            for (ENode l : g.nodes(left)) {
+                if (l.getOperator() == Operator.POWER && g.find(l.child(0)) == g.find(r.child(0))) {
+                    out.add(new Rule.Match(c, () -> g.add(Operator.POWER, l.child(0),
+                            g.add(Operator.ADD, l.child(1), r.child(1)))));
+                }
+            }
+        }
+    });
+
+    // a^m / a^n -> a^(m - n), a^m / a -> a^(m - 1)
+    public static final Rule POWER_QUOTIENT = new Rule("power-quotient", (g, c, n, out) -> {
+        if (n.getOperator() != Operator.DIVIDE) return;
+        int denominator = g.find(n.child(1));
+        for (ENode l : g.nodes(n.child(0))) {
+            if (l.getOperator() != Operator.POWER) continue;
+            if (g.find(l.child(0)) == denominator) {
+                out.add(new Rule.Match(c, () -> g.add(Operator.POWER, l.child(0),
+                        g.add(Operator.ADD, l.child(1), g.add(Constant.MINUS_ONE)))));
+            }
+            for (ENode r : g.nodes(denominator)) {
+                if (r.getOperator() == Operator.POWER && g.find(l.child(0)) == g.find(r.child(0))) {
+                    out.add(new Rule.Match(c, () -> g.add(Operator.POWER, l.child(0), g.add(Operator.ADD, l.child(1),
+                            g.add(Operator.MULTIPLY, g.add(Constant.MINUS_ONE), r.child(1))))));
+                }
+            }
+        }
+    });
+
+    // (ab)/c -> a(b/c) and a(b/c) -> (ab)/c
+    public static final Rule DIVIDE_PRODUCT = new Rule("divide-product", (g, c, n, out) -> {
+        if (n.getOperator() == Operator.DIVIDE) {
+            for (ENode l : g.nodes(n.child(0))) {
+                if (l.getOperator() == Operator.MULTIPLY) {
+                    out.add(new Rule.Match(c, () -> g.add(Operator.MULTIPLY, l.child(0),
+                            g.add(Operator.DIVIDE, l.child(1), n.child(1)))));
+                }
+            }
+        }
+        else if (n.getOperator() == Operator.MULTIPLY) {
+            for (ENode r : g.nodes(n.child(1))) {
+                if (r.getOperator() == Operator.DIVIDE) {
+                    out.add(new Rule.Match(c, () -> g.add(Operator.DIVIDE,
+                            g.add(Operator.MULTIPLY, n.child(0), r.child(0)), r.child(1))));
+                }
+            }
+        }
+    });
+
+    // (a^m)^n -> a^(mn) and (ab)^n -> (a^n)(b^n), both only for integer n where they hold over the reals
+    public static final Rule POWER_OF_POWER = new Rule("power-of-power", (g, c, n, out) -> {
+        if (n.getOperator() != Operator.POWER || !isInteger(g.constant(n.child(1)))) return;
+        int power = n.child(1);
+        for (ENode base : g.nodes(n.child(0))) {
+            if (base.getOperator() == Operator.POWER) {
+                out.add(new Rule.Match(c, () -> g.add(Operator.POWER, base.child(0),
+                        g.add(Operator.MULTIPLY, base.child(1), power))));
+            }
+            else if (base.getOperator() == Operator.MULTIPLY) {
+                out.add(new Rule.Match(c, () -> g.add(Operator.MULTIPLY,
+                        g.add(Operator.POWER, base.child(0), power), g.add(Operator.POWER, base.child(1), power))));
+            }
+        }
+    });
+
+    // sin(a)^2 + cos(a)^2 -> 1
+    public static final Rule PYTHAGOREAN = new Rule("pythagorean", (g, c, n, out) -> {
+        if (n.getOperator() != Operator.ADD) return;
+        int left = square(g, n.child(0), "sin");
+        int right = square(g, n.child(1), "cos");
+        if (left < 0 || right != left) {
+            left = square(g, n.child(0), "cos");
+            right = square(g, n.child(1), "sin");
+        }
+        if (left >= 0 && right == left) {
+            out.add(new Rule.Match(c, () -> g.add(Constant.ONE)));
+        }
+    });
+
+    // sin(a)csc(a) -> 1 and the like, x/sin(a) -> x csc(a)
+    public static final Rule RECIPROCAL = new Rule("reciprocal", (g, c, n, out) -> {
+        if (n.getOperator() == Operator.MULTIPLY) {
+            for (ENode l : g.nodes(n.child(0))) {
+                if (l.getOperator() != Operator.TRIGONOMETRIC) continue;
+                for (ENode r : g.nodes(n.child(1))) {
+                    if (r.getOperator() == Operator.TRIGONOMETRIC && RECIPROCALS.get(l.getName()).equals(r.getName())
+                            && g.find(l.child(0)) == g.find(r.child(0))) {
+                        out.add(new Rule.Match(c, () -> g.add(Constant.ONE)));
+                    }
+                }
+            }
+        }
+        else if (n.getOperator() == Operator.DIVIDE) {
+            for (ENode r : g.nodes(n.child(1))) {
+                if (r.getOperator() == Operator.TRIGONOMETRIC) {
+                    out.add(new Rule.Match(c, () -> g.add(Operator.MULTIPLY, n.child(0),
+                            g.add(new ENode(Operator.TRIGONOMETRIC, RECIPROCALS.get(r.getName()), r.child(0))))));
+                }
+            }
+        }
+    });
+
+    // sin(a)/cos(a) -> tan(a), cos(a)/sin(a) -> cot(a), sin(a)sec(a) -> tan(a), cos(a)csc(a) -> cot(a)
+    public static final Rule QUOTIENT = new Rule("quotient", (g, c, n, out) -> {
+        if (n.getOperator() != Operator.DIVIDE && n.getOperator() != Operator.MULTIPLY) return;
+        boolean divide = n.getOperator() == Operator.DIVIDE;
+        for (ENode l : g.nodes(n.child(0))) {
+            if (l.getOperator() != Operator.TRIGONOMETRIC) continue;
+            String quotient = l.getName().equals("sin") ? "tan" : l.getName().equals("cos") ? "cot" : null;
+            if (quotient == null) continue;
+            String other = quotient.equals("tan") ? "cos" : "sin";
+            String expected = divide ? other : RECIPROCALS.get(other);
+            for (ENode r : g.nodes(n.child(1))) {
+                if (r.getOperator() == Operator.TRIGONOMETRIC && r.getName().equals(expected)
+                        && g.find(l.child(0)) == g.find(r.child(0))) {
+                    out.add(new Rule.Match(c, () -> g.add(new ENode(Operator.TRIGONOMETRIC, quotient, l.child(0)))));
+                }
+            }
+        }
+    });
+
+    public static List<Rule> algebra() {
+        return Collections.unmodifiableList(Arrays.asList(ADD_COMMUTATIVITY, MULTIPLY_COMMUTATIVITY, ADD_ASSOCIATIVITY,
+                MULTIPLY_ASSOCIATIVITY, DISTRIBUTE, FACTOR, IDENTITIES, POWER_PRODUCT, POWER_QUOTIENT, DIVIDE_PRODUCT,
+                POWER_OF_POWER));
+    }
+
+    public static List<Rule> trigonometry() {
+        return Collections.unmodifiableList(Arrays.asList(PYTHAGOREAN, RECIPROCAL, QUOTIENT));
+    }
+
+    public static List<Rule> defaults() {
+        List<Rule> rules = new ArrayList<>(algebra());
+        rules.addAll(trigonometry());
+        return Collections.unmodifiableList(rules);
+    }
+
+    // (a + b) + c -> a + (b + c) and a + (b + c) -> (a + b) + c
+    private static Rule associativity(String name, Operator operator) {
+        return new Rule(name, (g, c, n, out) -> {
+            if (n.getOperator() != operator) return;
+            for (ENode l : g.nodes(n.child(0))) {
+                if (l.getOperator() == operator) {
+                    out.add(new Rule.Match(c, () -> g.add(operator, l.child(0), g.add(operator, l.child(1), n.child(1)))));
+                }
+            }
+            for (ENode r : g.nodes(n.child(1))) {
+                if (r.getOperator() == operator) {
+                    out.add(new Rule.Match(c, () -> g.add(operator, g.add(operator, n.child(0), r.child(0)), r.child(1))));
+                }
+            }
+        });
+    }
+
+    private static boolean is(EGraph graph, int eclass, int value) {
+        Constant<?> constant = graph.constant(eclass);
+        return constant != null && ConstantFolding.compare(constant, Constant.of(value)) == 0;
+    }
+
+    private static boolean isInteger(Constant<?> constant) {
+        return constant != null && (constant.getType() == Constant.Type.INT || constant.getType() == Constant.Type.LONG
+                || constant.getType() == Constant.Type.BIG_INTEGER);
+    }
+
+    // the argument class of name(a)^2 within the given class, or -1
+    private static int square(EGraph graph, int eclass, String name) {
+        for (ENode power : graph.nodes(eclass)) {
+            if (power.getOperator() != Operator.POWER || !is(graph, power.child(1), 2)) continue;
+            for (ENode base : graph.nodes(power.child(0))) {
+                if (base.getOperator() == Operator.TRIGONOMETRIC && base.getName().equals(name)) {
+                    return graph.find(base.child(0));
+                }
+            }
+        }
+        return -1;
+    }
+
+    private Rules() {}
+}
@@ -0,0 +1,259 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates an expression over column-oriented variable bindings. The expression is lowered once into a list of
+ * vector operations over chunk-sized registers; every row chunk then runs one tight primitive loop per node.
+ */
+public final class BatchEvaluator {
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final List<String> variables;
+    private final int chunkSize;
+    private final int[] ops;
+    private final int[][] children;
+    private final double[] values;
+    private final int[] variableIndex;
+    private final int[] register;
+    private final int registerCount;
+    // registers and staging are rewritten by every call, so each thread keeps its own and reuses it
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+
+    private BatchEvaluator(List<String> variables, int chunkSize, Lowering lowering) {
+        this.variables = variables;
+        this.chunkSize = chunkSize;
+        int n = lowering.ops.size();
+        this.ops = new int[n];
+        this.children = new int[n][];
+        this.values = new double[n];
+        this.variableIndex = new int[n];
+        for (int idx = 0; idx < n; idx++) {
+            ops[idx] = lowering.ops.get(idx);
+            children[idx] = lowering.children.get(idx);
+            values[idx] = lowering.values.get(idx);
+            variableIndex[idx] = lowering.variableIndex.get(idx);
+        }
+        this.register = new int[n];
+        this.registerCount = allocateRegisters();
+    }
+
+    public static BatchEvaluator of(Expression expression, String... variables) {
+        return of(expression, Arrays.asList(variables), DEFAULT_CHUNK_SIZE);
+    }
+
+    public static BatchEvaluator of(Expression expression, List<String> variables, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<String> order = new ArrayList<>(variables);
+        Lowering lowering = new Lowering(order, false);
+        lowering.lower(expression);
+        return new BatchEvaluator(order, chunkSize, lowering);
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public int getNodeCount() {
+        return ops.length;
+    }
+
+    public int getRegisterCount() {
+        return registerCount;
+    }
+
+    public double[] evaluate(double[]... columns) {
+        double[] output = new double[columns.length == 0 ? 1 : columns[0].length];
+        evaluate(columns, output);
+        return output;
+    }
+
+    public void evaluate(double[][] columns, double[] output) {
+        checkColumns(columns.length);
+        for (double[] column : columns) {
+            if (column.length < output.length) {
+                throw new IllegalArgumentException("Column shorter than output: " + column.length + " < " + output.length);
+            }
+        }
+        Workspace workspace = workspaces.get();
+        for (int start = 0; start < output.length; start += chunkSize) {
+            int length = Math.min(chunkSize, output.length - start);
+            for (int idx = 0; idx < ops.length; idx++) {
+                if (ops[idx] == Lowering.VAR) {
+                    workspace.arrays[idx] = columns[variableIndex[idx]];
+                    workspace.offsets[idx] = start;
+                }
+            }
+            run(workspace, length);
+            int root = ops.length - 1;
+            System.arraycopy(workspace.arrays[root], workspace.offsets[root], output, start, length);
+        }
+        // the workspace outlives the call, so it must not keep the caller's columns reachable
+        for (int idx = 0; idx < ops.length; idx++) {
+            if (ops[idx] == Lowering.VAR) {
+                workspace.arrays[idx] = null;
+            }
+        }
+    }
+
+    // one row per remaining slot of output; like a bulk get and put, every column and the output advance by that many
+    public void evaluate(DoubleBuffer[] columns, DoubleBuffer output) {
+        checkColumns(columns.length);
+        int rows = output.remaining();
+        for (DoubleBuffer column : columns) {
+            if (column.remaining() < rows) {
+                throw new IllegalArgumentException("Column shorter than output: " + column.remaining() + " < " + rows);
+            }
+        }
+        Workspace workspace = workspaces.get();
+        double[][] staging = workspace.staging;
+        for (int start = 0; start < rows; start += chunkSize) {
+            int length = Math.min(chunkSize, rows - start);
+            for (int idx = 0; idx < columns.length; idx++) {
+                columns[idx].get(staging[idx], 0, length);
+            }
+            for (int idx = 0; idx < ops.length; idx++) {
+                if (ops[idx] == Lowering.VAR) {
+                    workspace.arrays[idx] = staging[variableIndex[idx]];
+                    workspace.offsets[idx] = 0;
+                }
+            }
+            run(workspace, length);
+            int root = ops.length - 1;
+            output.put(workspace.arrays[root], workspace.offsets[root], length);
+        }
+    }
+
+    private void checkColumns(int count) {
+        if (count != variables.size()) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " columns but got " + count);
+        }
+    }
+
+    private void run(Workspace w, int length) {
+        for (int idx = 0; idx < ops.length; idx++) {
+            int op = ops[idx];
+            if (op == Lowering.CONST || op == Lowering.VAR) {
+                continue;
+            }
+            double[] out = w.arrays[idx];
+            int[] args = children[idx];
+            double[] a = w.arrays[args[0]];
+            int ao = w.offsets[args[0]];
+            switch (op) {
+                case Lowering.ADD:
+                case Lowering.MUL: {
+                    double[] b = w.arrays[args[1]];
+                    int bo = w.offsets[args[1]];
+                    if (op == Lowering.ADD) {
+                        for (int i = 0; i < length; i++) out[i] = a[ao + i] + b[bo + i];
+                    }
+                    else {
+                        for (int i = 0; i < length; i++) out[i] = a[ao + i] * b[bo + i];
+                    }
+                    for (int c = 2; c < args.length; c++) {
+                        double[] x = w.arrays[args[c]];
+                        int xo = w.offsets[args[c]];
+                        if (op == Lowering.ADD) {
+                            for (int i = 0; i < length; i++) out[i] += x[xo + i];
+                        }
+                        else {
+                            for (int i = 0; i < length; i++) out[i] *= x[xo + i];
+                        }
+                    }
+                    break;
+                }
+                case Lowering.DIV: {
+                    double[] b = w.arrays[args[1]];
+                    int bo = w.offsets[args[1]];
+                    for (int i = 0; i < length; i++) out[i] = a[ao + i] / b[bo + i];
+                    break;
+                }
+                case Lowering.POW: {
+                    double[] b = w.arrays[args[1]];
+                    int bo = w.offsets[args[1]];
+                    for (int i = 0; i < length; i++) out[i] = Math.pow(a[ao + i], b[bo + i]);
+                    break;
+                }
+                case Lowering.SQUARE:
+                    for (int i = 0; i < length; i++) out[i] = a[ao + i] * a[ao + i];
+                    break;
+                case Lowering.SIN:
+                    for (int i = 0; i < length; i++) out[i] = Math.sin(a[ao + i]);
+                    break;
+                case Lowering.COS:
+                    for (int i = 0; i < length; i++) out[i] = Math.cos(a[ao + i]);
+                    break;
+                case Lowering.TAN:
+                    for (int i = 0; i < length; i++) out[i] = Math.tan(a[ao + i]);
+                    break;
+                case Lowering.CSC:
+                    for (int i = 0; i < length; i++) out[i] = 1.0 / Math.sin(a[ao + i]);
+                    break;
+                case Lowering.SEC:
+                    for (int i = 0; i < length; i++) out[i] = 1.0 / Math.cos(a[ao + i]);
+                    break;
+                case Lowering.COT:
+                    for (int i = 0; i < length; i++) out[i] = 1.0 / Math.tan(a[ao + i]);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown op " + op);
+            }
+        }
+    }
+
+    // linear scan over the postorder node list, reusing a register once its last reader has run;
+    // constants keep a dedicated register because they are filled once per evaluation, not per chunk
+    private int allocateRegisters() {
+        int n = ops.length;
+        int[] lastUse = new int[n];
+        Arrays.fill(lastUse, -1);
+        for (int idx = 0; idx < n; idx++) {
+            for (int child : children[idx]) {
+                lastUse[child] = idx;
+            }
+        }
+        int count = 0;
+        int[] free = new int[n];
+        int freeCount = 0;
+        for (int idx = 0; idx < n; idx++) {
+            if (ops[idx] == Lowering.VAR) {
+                register[idx] = -1;
+                continue;
+            }
+            register[idx] = ops[idx] == Lowering.CONST || freeCount == 0 ? count++ : free[--freeCount];
+            for (int child : children[idx]) {
+                if (lastUse[child] == idx && ops[child] != Lowering.VAR && ops[child] != Lowering.CONST) {
+                    free[freeCount++] = register[child];
+                    lastUse[child] = -1;
+                }
+            }
+        }
+        return count;
+    }
+
+    private final class Workspace {
+        private final double[][] arrays = new double[ops.length][];
+        private final int[] offsets = new int[ops.length];
+        private final double[][] staging = new double[variables.size()][chunkSize];
+
+        private Workspace() {
+            double[][] registers = new double[registerCount][chunkSize];
+            for (int idx = 0; idx < ops.length; idx++) {
+                if (ops[idx] != Lowering.VAR) {
+                    arrays[idx] = registers[register[idx]];
+                }
+                if (ops[idx] == Lowering.CONST) {
+                    Arrays.fill(arrays[idx], values[idx]);
+                }
+            }
+        }
+    }
+}
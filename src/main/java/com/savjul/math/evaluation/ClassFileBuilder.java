@@ -0,0 +1,220 @@
+package com.savjul.math.evaluation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal class file writer for generated evaluators. Only straight-line code is supported, which keeps
+// version 52 classes valid without a StackMapTable.
+final class ClassFileBuilder {
+    static final int ALOAD_0 = 0x2a;
+    static final int ALOAD_1 = 0x2b;
+    static final int DLOAD_1 = 0x27;
+    static final int DCONST_0 = 0x0e;
+    static final int DCONST_1 = 0x0f;
+    static final int ICONST_0 = 0x03;
+    static final int BIPUSH = 0x10;
+    static final int SIPUSH = 0x11;
+    static final int LDC_W = 0x13;
+    static final int LDC2_W = 0x14;
+    static final int DALOAD = 0x31;
+    static final int DUP2 = 0x5c;
+    static final int DADD = 0x63;
+    static final int DMUL = 0x6b;
+    static final int DDIV = 0x6f;
+    static final int DNEG = 0x77;
+    static final int DRETURN = 0xaf;
+    static final int RETURN = 0xb1;
+    static final int INVOKESPECIAL = 0xb7;
+    static final int INVOKESTATIC = 0xb8;
+
+    static final int MAX_CODE_LENGTH = 65535;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final DataOutputStream poolOut = new DataOutputStream(pool);
+    private final Map<String, Integer> entries = new HashMap<>();
+    private final List<byte[]> methods = new ArrayList<>();
+    private int poolCount = 1;
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+
+    ClassFileBuilder(String name, String... interfaceNames) {
+        this.thisClass = classRef(name);
+        this.superClass = classRef("java/lang/Object");
+        this.interfaces = new int[interfaceNames.length];
+        for (int idx = 0; idx < interfaceNames.length; idx++) {
+            this.interfaces[idx] = classRef(interfaceNames[idx]);
+        }
+        Code init = new Code();
+        init.op(ALOAD_0, 1);
+        init.op(INVOKESPECIAL, -1);
+        init.u2(methodRef("java/lang/Object", "<init>", "()V"));
+        init.op(RETURN, 0);
+        method("<init>", "()V", init, 1);
+    }
+
+    int utf8(String value) {
+        return entry("U" + value, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        }, 1);
+    }
+
+    int classRef(String name) {
+        int nameIndex = utf8(name);
+        return entry("C" + name, out -> {
+            out.writeByte(7);
+            out.writeShort(nameIndex);
+        }, 1);
+    }
+
+    int doubleConstant(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        return entry("D" + bits, out -> {
+            out.writeByte(6);
+            out.writeLong(bits);
+        }, 2);
+    }
+
+    int intConstant(int value) {
+        return entry("I" + value, out -> {
+            out.writeByte(3);
+            out.writeInt(value);
+        }, 1);
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        int classIndex = classRef(owner);
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int nameAndType = entry("N" + name + descriptor, out -> {
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        }, 1);
+        return entry("M" + owner + "." + name + descriptor, out -> {
+            out.writeByte(10);
+            out.writeShort(classIndex);
+            out.writeShort(nameAndType);
+        }, 1);
+    }
+
+    void method(String name, String descriptor, Code code, int maxLocals) {
+        if (code.length() > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Method " + name + " exceeds the maximum code length");
+        }
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int codeIndex = utf8("Code");
+        byte[] bytes = code.bytes();
+        methods.add(write(out -> {
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            out.writeShort(1);
+            out.writeShort(codeIndex);
+            out.writeInt(12 + bytes.length);
+            out.writeShort(code.maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeShort(0);
+            out.writeShort(0);
+        }));
+    }
+
+    byte[] build() {
+        return write(out -> {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(poolCount);
+            out.write(pool.toByteArray());
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int iface : interfaces) {
+                out.writeShort(iface);
+            }
+            out.writeShort(0);
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0);
+        });
+    }
+
+    private int entry(String key, Writer writer, int slots) {
+        Integer index = entries.get(key);
+        if (index == null) {
+            index = poolCount;
+            try {
+                writer.write(poolOut);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            poolCount += slots;
+            if (poolCount > 0xffff) {
+                throw new IllegalArgumentException("Constant pool overflow");
+            }
+            entries.put(key, index);
+        }
+        return index;
+    }
+
+    private static byte[] write(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writer.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // bytecode buffer that tracks operand stack depth in slots
+    static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int stack;
+        private int maxStack;
+
+        void op(int opcode, int stackDelta) {
+            bytes.write(opcode);
+            stack += stackDelta;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        void u1(int value) {
+            bytes.write(value);
+        }
+
+        void u2(int value) {
+            bytes.write((value >>> 8) & 0xff);
+            bytes.write(value & 0xff);
+        }
+
+        int length() {
+            return bytes.size();
+        }
+
+        byte[] bytes() {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.savjul.math.evaluation;
+
+public interface CompiledExpression {
+    double evaluate(double... variables);
+}
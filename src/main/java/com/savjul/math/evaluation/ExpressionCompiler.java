@@ -0,0 +1,330 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.*;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.ExpressionVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Compiles an expression into a generated class whose evaluation method is plain double arithmetic on its
+ * arguments, so HotSpot can inline it like handwritten code. Compiled functions are cached by expression
+ * structure and variable order.
+ */
+public final class ExpressionCompiler {
+    private static final int CACHE_CAPACITY = 512;
+    private static final AtomicLong COUNTER = new AtomicLong();
+    private static final String MATH = "java/lang/Math";
+    // one task per key, so a compile runs outside any lock and concurrent requests for the same key wait on it
+    private static final ConcurrentMap<Key, FutureTask<Object>> CACHE = new ConcurrentHashMap<>();
+    // least recently used order for eviction; its lock is only held for bookkeeping, never while compiling
+    private static final LinkedHashMap<Key, Boolean> RECENT = new LinkedHashMap<>(64, 0.75f, true);
+
+    public static CompiledExpression compile(Expression expression, String... variables) {
+        return compile(expression, Arrays.asList(variables));
+    }
+
+    public static CompiledExpression compile(Expression expression, List<String> variables) {
+        List<String> order = new ArrayList<>(variables);
+        return (CompiledExpression) cached(new Key(expression, order, false), () -> generate(expression, order, false));
+    }
+
+    public static DoubleUnaryOperator compileUnary(Expression expression, String variable) {
+        List<String> variables = Collections.singletonList(variable);
+        return (DoubleUnaryOperator) cached(new Key(expression, variables, true), () -> generate(expression, variables, true));
+    }
+
+    public static int cacheSize() {
+        return CACHE.size();
+    }
+
+    public static void clearCache() {
+        synchronized (RECENT) {
+            RECENT.clear();
+            CACHE.clear();
+        }
+    }
+
+    private static Object cached(Key key, Callable<Object> generator) {
+        FutureTask<Object> task = CACHE.get(key);
+        if (task == null) {
+            FutureTask<Object> created = new FutureTask<>(generator);
+            task = CACHE.putIfAbsent(key, created);
+            if (task == null) {
+                task = created;
+                created.run();
+            }
+        }
+        Object result;
+        try {
+            result = task.get();
+        } catch (ExecutionException e) {
+            // failures are not cached, so a later call compiles again
+            CACHE.remove(key, task);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for compilation", e);
+        }
+        touch(key);
+        return result;
+    }
+
+    private static void touch(Key key) {
+        synchronized (RECENT) {
+            RECENT.put(key, Boolean.TRUE);
+            if (RECENT.size() > CACHE_CAPACITY) {
+                Iterator<Key> eldest = RECENT.keySet().iterator();
+                CACHE.remove(eldest.next());
+                eldest.remove();
+            }
+        }
+    }
+
+    private static Object generate(Expression expression, List<String> variables, boolean unary) {
+        String name = "com/savjul/math/evaluation/Compiled$" + COUNTER.incrementAndGet();
+        ClassFileBuilder builder = unary ?
+                new ClassFileBuilder(name, "java/util/function/DoubleUnaryOperator") :
+                new ClassFileBuilder(name, "com/savjul/math/evaluation/CompiledExpression");
+        Emitter emitter = new Emitter(builder, variables, unary);
+        try {
+            emitter.visit(expression);
+        } catch (IllegalArgumentException e) {
+            if (emitter.code.length() <= ClassFileBuilder.MAX_CODE_LENGTH) {
+                throw e;
+            }
+        }
+        if (emitter.code.length() > ClassFileBuilder.MAX_CODE_LENGTH) {
+            // too large for a single JVM method, interpret it from a tape instead
+            ExpressionTape tape = ExpressionTape.of(expression, variables);
+            return unary ? (DoubleUnaryOperator) tape::evaluate : tape;
+        }
+        emitter.code.op(ClassFileBuilder.DRETURN, -2);
+        if (unary) {
+            builder.method("applyAsDouble", "(D)D", emitter.code, 3);
+        }
+        else {
+            builder.method("evaluate", "([D)D", emitter.code, 2);
+        }
+        byte[] bytes = builder.build();
+        try {
+            Class<?> klass = new DefiningClassLoader(ExpressionCompiler.class.getClassLoader())
+                    .define(name.replace('/', '.'), bytes);
+            return klass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to load compiled expression", e);
+        }
+    }
+
+    private static final class Emitter extends ExpressionVisitor<Void> {
+        private final ClassFileBuilder builder;
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final boolean unary;
+        private final ClassFileBuilder.Code code = new ClassFileBuilder.Code();
+
+        private Emitter(ClassFileBuilder builder, List<String> variables, boolean unary) {
+            this.builder = builder;
+            this.unary = unary;
+            for (int idx = 0; idx < variables.size(); idx++) {
+                slots.put(variables.get(idx), idx);
+            }
+        }
+
+        @Override
+        public Void visit(Term expression) {
+            List<Expression> factors = expression.getFactors();
+            if (factors.isEmpty()) {
+                code.op(ClassFileBuilder.DCONST_1, 2);
+                return null;
+            }
+            visit(factors.get(0));
+            for (int idx = 1; idx < factors.size(); idx++) {
+                visit(factors.get(idx));
+                code.op(ClassFileBuilder.DMUL, -2);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Polynomial expression) {
+            List<Expression> terms = expression.getTerms();
+            if (terms.isEmpty()) {
+                code.op(ClassFileBuilder.DCONST_0, 2);
+                return null;
+            }
+            visit(terms.get(0));
+            for (int idx = 1; idx < terms.size(); idx++) {
+                visit(terms.get(idx));
+                code.op(ClassFileBuilder.DADD, -2);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Exponent expression) {
+            visit(expression.getBase());
+            Expression power = expression.getPower();
+            if (power instanceof Constant && ((Constant<?>) power).doubleValue() == 2.0) {
+                code.op(ClassFileBuilder.DUP2, 2);
+                code.op(ClassFileBuilder.DMUL, -2);
+                return null;
+            }
+            visit(power);
+            invokeMath("pow", "(DD)D", -2);
+            return null;
+        }
+
+        @Override
+        public Void visit(Rational expression) {
+            visit(expression.getNumerator());
+            visit(expression.getDenominator());
+            code.op(ClassFileBuilder.DDIV, -2);
+            return null;
+        }
+
+        @Override
+        public Void visit(Trigonometric expression) {
+            String name = expression.getName();
+            switch (name) {
+                case "sin":
+                case "cos":
+                case "tan":
+                    visit(expression.getArgument());
+                    invokeMath(name, "(D)D", 0);
+                    break;
+                default:
+                    code.op(ClassFileBuilder.DCONST_1, 2);
+                    visit(expression.getArgument());
+                    invokeMath(name.equals("csc") ? "sin" : name.equals("sec") ? "cos" : "tan", "(D)D", 0);
+                    code.op(ClassFileBuilder.DDIV, -2);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Constant<?> expression) {
+            pushDouble(expression.doubleValue());
+            return null;
+        }
+
+        @Override
+        public Void visit(Transcendental expression) {
+            pushDouble(expression.doubleValue());
+            return null;
+        }
+
+        @Override
+        public Void visit(Variable expression) {
+            Integer slot = slots.get(expression.getName());
+            if (slot == null) {
+                throw new IllegalArgumentException("Unbound variable " + expression.getName());
+            }
+            if (unary) {
+                code.op(ClassFileBuilder.DLOAD_1, 2);
+                return null;
+            }
+            code.op(ClassFileBuilder.ALOAD_1, 1);
+            if (slot <= 5) {
+                code.op(ClassFileBuilder.ICONST_0 + slot, 1);
+            }
+            else if (slot <= Byte.MAX_VALUE) {
+                code.op(ClassFileBuilder.BIPUSH, 1);
+                code.u1(slot);
+            }
+            else if (slot <= Short.MAX_VALUE) {
+                code.op(ClassFileBuilder.SIPUSH, 1);
+                code.u2(slot);
+            }
+            else {
+                code.op(ClassFileBuilder.LDC_W, 1);
+                code.u2(builder.intConstant(slot));
+            }
+            code.op(ClassFileBuilder.DALOAD, 0);
+            return null;
+        }
+
+        @Override
+        public Void defaultValue(Expression expression) {
+            throw new IllegalArgumentException("Can't compile " + expression.getClass().getSimpleName());
+        }
+
+        private void pushDouble(double value) {
+            if (Double.doubleToRawLongBits(value) == 0L) {
+                code.op(ClassFileBuilder.DCONST_0, 2);
+            }
+            else if (value == 1.0) {
+                code.op(ClassFileBuilder.DCONST_1, 2);
+            }
+            else {
+                code.op(ClassFileBuilder.LDC2_W, 2);
+                code.u2(builder.doubleConstant(value));
+            }
+        }
+
+        private void invokeMath(String name, String descriptor, int stackDelta) {
+            code.op(ClassFileBuilder.INVOKESTATIC, stackDelta);
+            code.u2(builder.methodRef(MATH, name, descriptor));
+        }
+    }
+
+    private static final class DefiningClassLoader extends ClassLoader {
+        private DefiningClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class Key {
+        private final Expression expression;
+        private final List<String> variables;
+        private final boolean unary;
+
+        private Key(Expression expression, List<String> variables, boolean unary) {
+            this.expression = expression;
+            this.variables = variables;
+            this.unary = unary;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            return unary == key.unary && expression.equals(key.expression) && variables.equals(key.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = expression.hashCode();
+            result = 31 * result + variables.hashCode();
+            return 31 * result + (unary ? 1 : 0);
+        }
+    }
+
+    private ExpressionCompiler() {}
+}
@@ -0,0 +1,207 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.*;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An expression lowered into a flat postfix instruction tape: opcodes and their operands in one {@code int[]},
+ * constants in a {@code double[]} pool and variables as slot indices. Evaluation is a single stack-machine loop.
+ * Tapes are immutable, so one instance can be shared across threads and serialized.
+ */
+public final class ExpressionTape implements CompiledExpression, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] code;
+    private final double[] constants;
+    private final String[] variables;
+    private final int length;
+    private final int maxStackDepth;
+
+    private ExpressionTape(int[] code, double[] constants, String[] variables, int length, int maxStackDepth) {
+        this.code = code;
+        this.constants = constants;
+        this.variables = variables;
+        this.length = length;
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    public static ExpressionTape of(Expression expression, String... variables) {
+        return of(expression, Arrays.asList(variables));
+    }
+
+    public static ExpressionTape of(Expression expression, List<String> variables) {
+        Assembler assembler = new Assembler(variables);
+        assembler.emit(expression);
+        return assembler.build(variables.toArray(new String[0]));
+    }
+
+    public List<String> getVariables() {
+        return Arrays.asList(variables.clone());
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+
+    public int getConstantCount() {
+        return constants.length;
+    }
+
+    @Override
+    public double evaluate(double... variables) {
+        return evaluate(variables, new double[maxStackDepth]);
+    }
+
+    public double evaluate(double[] variables, double[] stack) {
+        if (variables.length < this.variables.length) {
+            throw new IllegalArgumentException("Expected " + this.variables.length + " variables but got " + variables.length);
+        }
+        if (stack.length < maxStackDepth) {
+            throw new IllegalArgumentException("Stack needs " + maxStackDepth + " slots but has " + stack.length);
+        }
+        int[] code = this.code;
+        int sp = -1;
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc++]) {
+                case Lowering.CONST: stack[++sp] = constants[code[pc++]]; break;
+                case Lowering.VAR: stack[++sp] = variables[code[pc++]]; break;
+                case Lowering.ADD: sp--; stack[sp] += stack[sp + 1]; break;
+                case Lowering.MUL: sp--; stack[sp] *= stack[sp + 1]; break;
+                case Lowering.DIV: sp--; stack[sp] /= stack[sp + 1]; break;
+                case Lowering.POW: sp--; stack[sp] = Math.pow(stack[sp], stack[sp + 1]); break;
+                case Lowering.SQUARE: stack[sp] *= stack[sp]; break;
+                case Lowering.SIN: stack[sp] = Math.sin(stack[sp]); break;
+                case Lowering.COS: stack[sp] = Math.cos(stack[sp]); break;
+                case Lowering.TAN: stack[sp] = Math.tan(stack[sp]); break;
+                case Lowering.CSC: stack[sp] = 1.0 / Math.sin(stack[sp]); break;
+                case Lowering.SEC: stack[sp] = 1.0 / Math.cos(stack[sp]); break;
+                case Lowering.COT: stack[sp] = 1.0 / Math.tan(stack[sp]); break;
+                default: throw new IllegalStateException("Corrupt tape at " + (pc - 1));
+            }
+        }
+        return stack[0];
+    }
+
+    private static final class Assembler {
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final Map<Long, Integer> pool = new HashMap<>();
+        private final List<Double> constants = new ArrayList<>();
+        private int[] code = new int[64];
+        private int size;
+        private int length;
+        private int depth;
+        private int maxDepth;
+
+        private Assembler(List<String> variables) {
+            for (int idx = 0; idx < variables.size(); idx++) {
+                slots.put(variables.get(idx), idx);
+            }
+        }
+
+        private void emit(Expression expression) {
+            if (expression instanceof Constant) {
+                push(constant(((Constant<?>) expression).doubleValue()));
+            }
+            else if (expression instanceof Variable) {
+                Integer slot = slots.get(((Variable) expression).getName());
+                if (slot == null) {
+                    throw new IllegalArgumentException("Unbound variable " + ((Variable) expression).getName());
+                }
+                op(Lowering.VAR, 1);
+                append(slot);
+            }
+            else if (expression instanceof Term) {
+                emitAll(((Term) expression).getFactors(), Lowering.MUL, 1.0);
+            }
+            else if (expression instanceof Polynomial) {
+                emitAll(((Polynomial) expression).getTerms(), Lowering.ADD, 0.0);
+            }
+            else if (expression instanceof Exponent) {
+                Exponent exponent = (Exponent) expression;
+                Expression power = exponent.getPower();
+                emit(exponent.getBase());
+                if (power instanceof Constant && ((Constant<?>) power).doubleValue() == 2.0) {
+                    op(Lowering.SQUARE, 0);
+                }
+                else {
+                    emit(power);
+                    op(Lowering.POW, -1);
+                }
+            }
+            else if (expression instanceof Rational) {
+                Rational rational = (Rational) expression;
+                emit(rational.getNumerator());
+                emit(rational.getDenominator());
+                op(Lowering.DIV, -1);
+            }
+            else if (expression instanceof Trigonometric) {
+                Trigonometric trigonometric = (Trigonometric) expression;
+                emit(trigonometric.getArgument());
+                op(Lowering.trigonometricOp(trigonometric.getName()), 0);
+            }
+            else {
+                throw new IllegalArgumentException("Can't evaluate " + expression.getClass().getSimpleName());
+            }
+        }
+
+        private void emitAll(List<Expression> operands, int op, double identity) {
+            if (operands.isEmpty()) {
+                push(constant(identity));
+                return;
+            }
+            emit(operands.get(0));
+            for (int idx = 1; idx < operands.size(); idx++) {
+                emit(operands.get(idx));
+                op(op, -1);
+            }
+        }
+
+        private int constant(double value) {
+            return pool.computeIfAbsent(Double.doubleToRawLongBits(value), bits -> {
+                constants.add(value);
+                return constants.size() - 1;
+            });
+        }
+
+        private void push(int constant) {
+            op(Lowering.CONST, 1);
+            append(constant);
+        }
+
+        private void op(int opcode, int stackDelta) {
+            append(opcode);
+            length++;
+            depth += stackDelta;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private void append(int value) {
+            if (size == code.length) {
+                code = Arrays.copyOf(code, size * 2);
+            }
+            code[size++] = value;
+        }
+
+        private ExpressionTape build(String[] variables) {
+            double[] pool = new double[constants.size()];
+            for (int idx = 0; idx < pool.length; idx++) {
+                pool[idx] = constants.get(idx);
+            }
+            return new ExpressionTape(Arrays.copyOf(code, size), pool, variables, length, maxDepth);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.*;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Opcodes shared by the evaluators, and the lowering of an expression into a postorder node list where equal
+ * subtrees get one node. Serialized tapes store these opcodes, so their values must not change.
+ */
+final class Lowering {
+    static final int CONST = 0, VAR = 1, ADD = 2, MUL = 3, DIV = 4, POW = 5, SQUARE = 6,
+            SIN = 7, COS = 8, TAN = 9, CSC = 10, SEC = 11, COT = 12;
+
+    final List<Integer> ops = new ArrayList<>();
+    final List<int[]> children = new ArrayList<>();
+    final List<Double> values = new ArrayList<>();
+    final List<Integer> variableIndex = new ArrayList<>();
+    int treeNodeCount;
+    int deduplicatedCount;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<Expression, Integer> nodes = new HashMap<>();
+    private final boolean fold;
+
+    // with fold, every variable-free subtree becomes one constant evaluated by Calculator
+    Lowering(List<String> variables, boolean fold) {
+        for (int idx = 0; idx < variables.size(); idx++) {
+            slots.put(variables.get(idx), idx);
+        }
+        this.fold = fold;
+    }
+
+    int lower(Expression expression) {
+        Integer existing = nodes.get(expression);
+        if (existing != null) {
+            deduplicatedCount += expression.getMetadata().getSize();
+            return existing;
+        }
+        int node;
+        if (isConstant(expression)) {
+            node = add(CONST, new int[0], Calculator.evaluate(expression), -1);
+        }
+        else if (expression instanceof Variable) {
+            Integer slot = slots.get(((Variable) expression).getName());
+            if (slot == null) {
+                throw new IllegalArgumentException("Unbound variable " + ((Variable) expression).getName());
+            }
+            node = add(VAR, new int[0], 0.0, slot);
+        }
+        else if (expression instanceof Term || expression instanceof Polynomial) {
+            List<Expression> operands = expression instanceof Term ?
+                    ((Term) expression).getFactors() : ((Polynomial) expression).getTerms();
+            if (operands.size() == 1) {
+                return lower(operands.get(0));
+            }
+            if (operands.isEmpty()) {
+                node = add(CONST, new int[0], expression instanceof Term ? 1.0 : 0.0, -1);
+            }
+            else {
+                node = add(expression instanceof Term ? MUL : ADD, lowerAll(operands), 0.0, -1);
+            }
+        }
+        else if (expression instanceof Exponent) {
+            Exponent exponent = (Exponent) expression;
+            Expression power = exponent.getPower();
+            if (isConstant(power) && Calculator.evaluate(power) == 2.0) {
+                node = add(SQUARE, new int[] { lower(exponent.getBase()) }, 0.0, -1);
+            }
+            else {
+                node = add(POW, new int[] { lower(exponent.getBase()), lower(power) }, 0.0, -1);
+            }
+        }
+        else if (expression instanceof Rational) {
+            Rational rational = (Rational) expression;
+            node = add(DIV, new int[] { lower(rational.getNumerator()), lower(rational.getDenominator()) }, 0.0, -1);
+        }
+        else if (expression instanceof Trigonometric) {
+            Trigonometric trigonometric = (Trigonometric) expression;
+            node = add(trigonometricOp(trigonometric.getName()), new int[] { lower(trigonometric.getArgument()) }, 0.0, -1);
+        }
+        else {
+            throw new IllegalArgumentException("Can't evaluate " + expression.getClass().getSimpleName());
+        }
+        nodes.put(expression, node);
+        return node;
+    }
+
+    static int trigonometricOp(String name) {
+        switch (name) {
+            case "sin": return SIN;
+            case "cos": return COS;
+            case "tan": return TAN;
+            case "csc": return CSC;
+            case "sec": return SEC;
+            case "cot": return COT;
+            default: throw new IllegalArgumentException("Unknown trigonometric function " + name);
+        }
+    }
+
+    private boolean isConstant(Expression expression) {
+        return fold ? expression.isConstant() : expression instanceof Constant;
+    }
+
+    private int[] lowerAll(List<Expression> operands) {
+        int[] result = new int[operands.size()];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = lower(operands.get(idx));
+        }
+        return result;
+    }
+
+    private int add(int op, int[] args, double value, int variable) {
+        ops.add(op);
+        children.add(args);
+        values.add(value);
+        variableIndex.add(variable);
+        return ops.size() - 1;
+    }
+}
@@ -0,0 +1,159 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.linear.Matrix2D;
+import com.savjul.math.linear.Vector;
+import com.savjul.math.transformers.Calculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates many expressions at once over a single DAG shared by all outputs. Equal subexpressions across entries
+ * of a {@link Matrix2D} or {@link Vector} get one slot and are evaluated once per binding; variable-free subtrees
+ * are folded with {@link Calculator} when the DAG is built.
+ */
+public final class SharedEvaluator {
+    private final List<String> variables;
+    private final int rows;
+    private final int columns;
+    private final int[] ops;
+    private final int[][] children;
+    private final double[] values;
+    private final int[] variableIndex;
+    private final int[] outputs;
+    private final int treeNodeCount;
+    private final int deduplicatedCount;
+
+    private SharedEvaluator(List<String> variables, int rows, int columns, Lowering lowering, int[] outputs) {
+        this.variables = variables;
+        this.rows = rows;
+        this.columns = columns;
+        int n = lowering.ops.size();
+        this.ops = new int[n];
+        this.children = new int[n][];
+        this.values = new double[n];
+        this.variableIndex = new int[n];
+        for (int idx = 0; idx < n; idx++) {
+            ops[idx] = lowering.ops.get(idx);
+            children[idx] = lowering.children.get(idx);
+            values[idx] = lowering.values.get(idx);
+            variableIndex[idx] = lowering.variableIndex.get(idx);
+        }
+        this.outputs = outputs;
+        this.treeNodeCount = lowering.treeNodeCount;
+        this.deduplicatedCount = lowering.deduplicatedCount;
+    }
+
+    public static SharedEvaluator of(List<Expression> expressions, String... variables) {
+        return of(expressions, Arrays.asList(variables));
+    }
+
+    public static SharedEvaluator of(List<Expression> expressions, List<String> variables) {
+        return build(expressions.toArray(new Expression[0]), expressions.size(), 1, variables);
+    }
+
+    public static SharedEvaluator of(Vector vector, String... variables) {
+        Expression[] expressions = new Expression[vector.size()];
+        for (int idx = 0; idx < expressions.length; idx++) {
+            expressions[idx] = vector.get(idx);
+        }
+        return build(expressions, expressions.length, 1, Arrays.asList(variables));
+    }
+
+    public static SharedEvaluator of(Matrix2D matrix, String... variables) {
+        int rows = matrix.rows();
+        int columns = matrix.columns();
+        Expression[] expressions = new Expression[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                expressions[i * columns + j] = matrix.get(i, j);
+            }
+        }
+        return build(expressions, rows, columns, Arrays.asList(variables));
+    }
+
+    private static SharedEvaluator build(Expression[] expressions, int rows, int columns, List<String> variables) {
+        List<String> order = new ArrayList<>(variables);
+        Lowering lowering = new Lowering(order, true);
+        int[] outputs = new int[expressions.length];
+        for (int idx = 0; idx < expressions.length; idx++) {
+            lowering.treeNodeCount += expressions[idx].getMetadata().getSize();
+            outputs[idx] = lowering.lower(expressions[idx]);
+        }
+        return new SharedEvaluator(order, rows, columns, lowering, outputs);
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public int getOutputCount() {
+        return outputs.length;
+    }
+
+    public int getSlotCount() {
+        return ops.length;
+    }
+
+    public int getTreeNodeCount() {
+        return treeNodeCount;
+    }
+
+    // tree nodes that were not given a slot of their own because an equal subtree already had one
+    public int getDeduplicatedCount() {
+        return deduplicatedCount;
+    }
+
+    public double[] evaluate(double... variables) {
+        double[] output = new double[outputs.length];
+        evaluate(variables, new double[ops.length], output);
+        return output;
+    }
+
+    public double[][] evaluateMatrix(double... variables) {
+        double[] flat = evaluate(variables);
+        double[][] result = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            result[i] = Arrays.copyOfRange(flat, i * columns, (i + 1) * columns);
+        }
+        return result;
+    }
+
+    public void evaluate(double[] variables, double[] slots, double[] output) {
+        if (variables.length < this.variables.size()) {
+            throw new IllegalArgumentException("Expected " + this.variables.size() + " variables but got " + variables.length);
+        }
+        for (int idx = 0; idx < ops.length; idx++) {
+            int[] args = children[idx];
+            double value;
+            switch (ops[idx]) {
+                case Lowering.CONST: value = values[idx]; break;
+                case Lowering.VAR: value = variables[variableIndex[idx]]; break;
+                case Lowering.ADD:
+                    value = slots[args[0]];
+                    for (int c = 1; c < args.length; c++) value += slots[args[c]];
+                    break;
+                case Lowering.MUL:
+                    value = slots[args[0]];
+                    for (int c = 1; c < args.length; c++) value *= slots[args[c]];
+                    break;
+                case Lowering.DIV: value = slots[args[0]] / slots[args[1]]; break;
+                case Lowering.POW: value = Math.pow(slots[args[0]], slots[args[1]]); break;
+                case Lowering.SQUARE: value = slots[args[0]] * slots[args[0]]; break;
+                case Lowering.SIN: value = Math.sin(slots[args[0]]); break;
+                case Lowering.COS: value = Math.cos(slots[args[0]]); break;
+                case Lowering.TAN: value = Math.tan(slots[args[0]]); break;
+                case Lowering.CSC: value = 1.0 / Math.sin(slots[args[0]]); break;
+                case Lowering.SEC: value = 1.0 / Math.cos(slots[args[0]]); break;
+                case Lowering.COT: value = 1.0 / Math.tan(slots[args[0]]); break;
+                default: throw new IllegalStateException("Unknown op " + ops[idx]);
+            }
+            slots[idx] = value;
+        }
+        for (int idx = 0; idx < outputs.length; idx++) {
+            output[idx] = slots[outputs[idx]];
+        }
+    }
+}
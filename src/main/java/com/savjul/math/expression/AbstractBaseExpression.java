@@ -5,10 +5,16 @@ import com.savjul.math.expression.compound.Polynomial;
 import com.savjul.math.expression.compound.Rational;
 import com.savjul.math.expression.compound.Term;
 import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.transformers.ExpressionExpander;
 import com.savjul.math.transformers.ExpressionRenderer;
 import com.savjul.math.transformers.ExpressionSimplifier;
 
+import java.util.function.Function;
+
 public abstract class AbstractBaseExpression implements Expression {
+    // set once on nodes returned by the simplifier, and only here; a stale read costs a redundant simplification
+    private volatile boolean simplified;
+
     @Override
     public Expression plus(Expression o) {
         return Polynomial.of(this, o);
@@ -36,7 +42,27 @@ public abstract class AbstractBaseExpression implements Expression {
 
     @Override
     public Expression simplify() {
-        return this.apply(ExpressionSimplifier.instance());
+        return simplified ? this : this.apply(ExpressionSimplifier.instance());
+    }
+
+    @Override
+    public boolean isSimplified() {
+        return simplified || !isCompound();
+    }
+
+    // simplifier output is canonical, so later simplify() calls on it and on trees sharing it stop here
+    @Override
+    public Expression apply(Function<Expression, Expression> transformation) {
+        Expression result = transformation.apply(this);
+        if (transformation instanceof ExpressionSimplifier && result instanceof AbstractBaseExpression) {
+            ((AbstractBaseExpression) result).simplified = true;
+        }
+        return result;
+    }
+
+    @Override
+    public Expression expand() {
+        return this.apply(ExpressionExpander.instance());
     }
 
     @Override
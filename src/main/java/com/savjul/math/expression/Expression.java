@@ -15,10 +15,19 @@ public interface Expression {
 
     boolean isCompound();
 
+    ExpressionMetadata getMetadata();
+
     Expression pow(Expression o);
 
     Expression simplify();
 
+    // true when simplify() is known to return this expression unchanged
+    default boolean isSimplified() {
+        return !isCompound();
+    }
+
+    Expression expand();
+
     default Expression apply(Function<Expression, Expression> transformation) {
         return transformation.apply(this);
     }
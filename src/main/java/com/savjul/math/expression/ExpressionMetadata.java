@@ -0,0 +1,115 @@
+package com.savjul.math.expression;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Structural facts about an expression tree, computed once when a compound node is built.
+ * Free variables are tracked as a bitset over {@link com.savjul.math.expression.simple.Variable#getIndex()}.
+ */
+public final class ExpressionMetadata {
+    private static final BitSet NONE = new BitSet();
+
+    private final int hash;
+    private final int size;
+    private final int depth;
+    private final boolean constant;
+    private final BitSet freeVariables;
+
+    private ExpressionMetadata(int hash, int size, int depth, boolean constant, BitSet freeVariables) {
+        this.hash = hash;
+        this.size = size;
+        this.depth = depth;
+        this.constant = constant;
+        this.freeVariables = freeVariables;
+    }
+
+    public static ExpressionMetadata constant(int hash) {
+        return new ExpressionMetadata(hash, 1, 1, true, NONE);
+    }
+
+    public static ExpressionMetadata variable(int hash, int index) {
+        BitSet freeVariables = new BitSet(index + 1);
+        freeVariables.set(index);
+        return new ExpressionMetadata(hash, 1, 1, false, freeVariables);
+    }
+
+    public static ExpressionMetadata compound(int seed, Expression... children) {
+        int hash = seed;
+        int size = 1;
+        int depth = 0;
+        boolean constant = true;
+        BitSet freeVariables = NONE;
+        for (Expression child : children) {
+            ExpressionMetadata metadata = child.getMetadata();
+            hash = 31 * hash + metadata.hash;
+            size += metadata.size;
+            depth = Math.max(depth, metadata.depth);
+            constant &= metadata.constant;
+            freeVariables = union(freeVariables, metadata.freeVariables);
+        }
+        return new ExpressionMetadata(hash, size, depth + 1, constant, freeVariables);
+    }
+
+    public static ExpressionMetadata compound(int seed, List<Expression> children) {
+        int hash = seed;
+        int size = 1;
+        int depth = 0;
+        boolean constant = true;
+        BitSet freeVariables = NONE;
+        for (int idx = 0; idx < children.size(); idx++) {
+            ExpressionMetadata metadata = children.get(idx).getMetadata();
+            hash = 31 * hash + metadata.hash;
+            size += metadata.size;
+            depth = Math.max(depth, metadata.depth);
+            constant &= metadata.constant;
+            freeVariables = union(freeVariables, metadata.freeVariables);
+        }
+        return new ExpressionMetadata(hash, size, depth + 1, constant, freeVariables);
+    }
+
+    private static BitSet union(BitSet a, BitSet b) {
+        if (b.isEmpty() || a == b) {
+            return a;
+        }
+        else if (a.isEmpty()) {
+            return b;
+        }
+        BitSet result = (BitSet) a.clone();
+        result.or(b);
+        return result;
+    }
+
+    public int getHash() {
+        return hash;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isConstant() {
+        return constant;
+    }
+
+    public BitSet getFreeVariables() {
+        return (BitSet) freeVariables.clone();
+    }
+
+    public int getFreeVariableCount() {
+        return freeVariables.cardinality();
+    }
+
+    public boolean hasFreeVariable(int index) {
+        return freeVariables.get(index);
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size + ", depth=" + depth + ", constant=" + constant + ", freeVariables=" + freeVariables;
+    }
+}
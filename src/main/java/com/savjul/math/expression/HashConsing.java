@@ -0,0 +1,121 @@
+package com.savjul.math.expression;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in intern table for expression nodes. When enabled, every factory method returns the canonical instance
+ * of a structurally equal node, so duplicate subtrees share memory and equal nodes compare by reference.
+ * Entries are weakly held and the table is lock-striped by hash.
+ */
+public final class HashConsing {
+    private static final int SEGMENTS = 32;
+    private static final Segment[] TABLE = new Segment[SEGMENTS];
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static volatile boolean enabled;
+
+    static {
+        for (int idx = 0; idx < SEGMENTS; idx++) {
+            TABLE[idx] = new Segment();
+        }
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E extends Expression> E intern(E expression) {
+        if (!enabled) {
+            return expression;
+        }
+        Segment segment = segment(expression.hashCode());
+        synchronized (segment) {
+            WeakReference<Expression> ref = segment.entries.get(expression);
+            Expression existing = ref == null ? null : ref.get();
+            if (existing != null) {
+                HITS.increment();
+                return (E) existing;
+            }
+            segment.entries.put(expression, new WeakReference<>(expression));
+        }
+        MISSES.increment();
+        return expression;
+    }
+
+    public static Statistics statistics() {
+        long size = 0;
+        for (Segment segment : TABLE) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return new Statistics(HITS.sum(), MISSES.sum(), size);
+    }
+
+    public static void clear() {
+        for (Segment segment : TABLE) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    private static Segment segment(int hash) {
+        hash ^= (hash >>> 16);
+        return TABLE[hash & (SEGMENTS - 1)];
+    }
+
+    private static final class Segment {
+        private final Map<Expression, WeakReference<Expression>> entries = new WeakHashMap<>();
+    }
+
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long size;
+
+        private Statistics(long hits, long misses, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, size=%d, hitRate=%.3f", hits, misses, size, getHitRate());
+        }
+    }
+
+    private HashConsing() {}
+}
@@ -2,6 +2,8 @@ package com.savjul.math.expression.compound;
 
 import com.savjul.math.expression.AbstractBaseExpression;
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.ExpressionMetadata;
+import com.savjul.math.expression.HashConsing;
 import com.savjul.math.expression.simple.Constant;
 
 import java.util.Objects;
@@ -9,16 +11,18 @@ import java.util.Objects;
 public final class Exponent extends AbstractBaseExpression {
     private final Expression base;
     private final Expression power;
+    private final ExpressionMetadata metadata;
 
     private Exponent(Expression base, Expression power) {
         Objects.requireNonNull(base);
         Objects.requireNonNull(power);
         this.base = base;
         this.power = power;
+        this.metadata = ExpressionMetadata.compound(0, base, power);
     }
 
     public static Exponent of(Expression base, Expression exponent) {
-        return new Exponent(base, exponent);
+        return HashConsing.intern(new Exponent(base, exponent));
     }
 
     public static Expression getBase(Expression expression) {
@@ -49,7 +53,12 @@ public final class Exponent extends AbstractBaseExpression {
 
     @Override
     public boolean isConstant() {
-        return this.base.isConstant() && this.power.isConstant();
+        return metadata.isConstant();
+    }
+
+    @Override
+    public ExpressionMetadata getMetadata() {
+        return metadata;
     }
 
     @Override
@@ -64,14 +73,13 @@ public final class Exponent extends AbstractBaseExpression {
 
         Exponent exponent1 = (Exponent) o;
 
+        if (metadata.getHash() != exponent1.metadata.getHash()) return false;
         if (!base.equals(exponent1.base)) return false;
         return power.equals(exponent1.power);
     }
 
     @Override
     public int hashCode() {
-        int result = base.hashCode();
-        result = 31 * result + power.hashCode();
-        return result;
+        return metadata.getHash();
     }
 }
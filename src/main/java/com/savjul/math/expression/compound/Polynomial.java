@@ -2,7 +2,11 @@ package com.savjul.math.expression.compound;
 
 import com.savjul.math.expression.AbstractBaseExpression;
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.ExpressionMetadata;
+import com.savjul.math.expression.HashConsing;
+import com.savjul.math.expression.simple.Constant;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -11,9 +15,11 @@ import java.util.stream.Stream;
 
 public final class Polynomial extends AbstractBaseExpression {
     private final List<Expression> terms;
+    private final ExpressionMetadata metadata;
 
     private Polynomial(Stream<Expression> terms) {
         this.terms = terms.collect(Collectors.toList());
+        this.metadata = ExpressionMetadata.compound(1, this.terms);
     }
 
     public static Polynomial of(Expression... terms) {
@@ -21,11 +27,41 @@ public final class Polynomial extends AbstractBaseExpression {
     }
 
     public static Polynomial of(Collection<Expression> terms) {
-        return new Polynomial(terms.stream());
+        return HashConsing.intern(new Polynomial(terms.stream()));
     }
 
     public static Polynomial of(Stream<Expression> terms) {
-        return new Polynomial(terms);
+        return HashConsing.intern(new Polynomial(terms));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // collects the terms of a sum into a single flat node instead of one nested two-term Polynomial per plus
+    public static final class Builder {
+        private final List<Expression> terms = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(Expression term) {
+            terms.add(term);
+            return this;
+        }
+
+        public int size() {
+            return terms.size();
+        }
+
+        // zero for no operands and the operand itself for one
+        public Expression build() {
+            switch (terms.size()) {
+                case 0: return Constant.ZERO;
+                case 1: return terms.get(0);
+                default: return of(terms);
+            }
+        }
     }
 
     @Override
@@ -35,7 +71,12 @@ public final class Polynomial extends AbstractBaseExpression {
 
     @Override
     public boolean isConstant() {
-        return this.terms.stream().allMatch(Expression::isConstant);
+        return metadata.isConstant();
+    }
+
+    @Override
+    public ExpressionMetadata getMetadata() {
+        return metadata;
     }
 
     @Override
@@ -58,11 +99,12 @@ public final class Polynomial extends AbstractBaseExpression {
 
         Polynomial that = (Polynomial) o;
 
+        if (metadata.getHash() != that.metadata.getHash()) return false;
         return terms.equals(that.terms);
     }
 
     @Override
     public int hashCode() {
-        return terms.hashCode();
+        return metadata.getHash();
     }
 }
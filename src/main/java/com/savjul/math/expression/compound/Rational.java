@@ -2,6 +2,8 @@ package com.savjul.math.expression.compound;
 
 import com.savjul.math.expression.AbstractBaseExpression;
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.ExpressionMetadata;
+import com.savjul.math.expression.HashConsing;
 import com.savjul.math.expression.simple.Constant;
 
 import java.util.Objects;
@@ -9,19 +11,21 @@ import java.util.Objects;
 public final class Rational extends AbstractBaseExpression {
     private final Expression numerator;
     private final Expression denominator;
+    private final ExpressionMetadata metadata;
 
     private Rational(Expression numerator, Expression denominator) {
         Objects.requireNonNull(numerator);
         Objects.requireNonNull(denominator);
-        if (denominator.equals(Constant.ZERO)) {
+        if (denominator instanceof Constant && ((Constant<?>) denominator).isExact() && ((Constant<?>) denominator).isZero()) {
             throw new RuntimeException("Division by zero");
         }
         this.numerator = numerator;
         this.denominator = denominator;
+        this.metadata = ExpressionMetadata.compound(0, numerator, denominator);
     }
 
     public static Rational of(Expression numerator, Expression denominator) {
-        return new Rational(numerator, denominator);
+        return HashConsing.intern(new Rational(numerator, denominator));
     }
 
 
@@ -32,7 +36,12 @@ public final class Rational extends AbstractBaseExpression {
 
     @Override
     public boolean isConstant() {
-        return this.numerator.isConstant() && this.denominator.isConstant();
+        return metadata.isConstant();
+    }
+
+    @Override
+    public ExpressionMetadata getMetadata() {
+        return metadata;
     }
 
     @Override
@@ -55,14 +64,13 @@ public final class Rational extends AbstractBaseExpression {
 
         Rational rational = (Rational) o;
 
+        if (metadata.getHash() != rational.metadata.getHash()) return false;
         if (!numerator.equals(rational.numerator)) return false;
         return denominator.equals(rational.denominator);
     }
 
     @Override
     public int hashCode() {
-        int result = numerator.hashCode();
-        result = 31 * result + denominator.hashCode();
-        return result;
+        return metadata.getHash();
     }
 }
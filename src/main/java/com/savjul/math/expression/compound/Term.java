@@ -2,9 +2,12 @@ package com.savjul.math.expression.compound;
 
 import com.savjul.math.expression.AbstractBaseExpression;
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.ExpressionMetadata;
+import com.savjul.math.expression.HashConsing;
 import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.transformers.BasicComparison;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -13,9 +16,11 @@ import java.util.stream.Stream;
 
 public final class Term extends AbstractBaseExpression {
     private final List<Expression> factors;
+    private final ExpressionMetadata metadata;
 
     private Term(Stream<Expression> factors) {
         this.factors = factors.collect(Collectors.toList());
+        this.metadata = ExpressionMetadata.compound(1, this.factors);
     }
 
     public static Expression of(Expression... factors) {
@@ -23,11 +28,41 @@ public final class Term extends AbstractBaseExpression {
     }
 
     public static Term of(Stream<Expression> factors) {
-        return new Term(factors);
+        return HashConsing.intern(new Term(factors));
     }
 
     public static Expression of(Collection<Expression> factors) {
-        return new Term(factors.stream());
+        return HashConsing.intern(new Term(factors.stream()));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // collects the factors of a product into a single flat node instead of one nested Term per times
+    public static final class Builder {
+        private final List<Expression> factors = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder multiply(Expression factor) {
+            factors.add(factor);
+            return this;
+        }
+
+        public int size() {
+            return factors.size();
+        }
+
+        // one for no operands and the operand itself for one
+        public Expression build() {
+            switch (factors.size()) {
+                case 0: return Constant.ONE;
+                case 1: return factors.get(0);
+                default: return of(factors);
+            }
+        }
     }
 
     @Override
@@ -37,7 +72,12 @@ public final class Term extends AbstractBaseExpression {
 
     @Override
     public boolean isConstant() {
-        return this.factors.stream().allMatch(Expression::isConstant);
+        return metadata.isConstant();
+    }
+
+    @Override
+    public ExpressionMetadata getMetadata() {
+        return metadata;
     }
 
     public List<Expression> getFactors() {
@@ -86,11 +126,12 @@ public final class Term extends AbstractBaseExpression {
 
         Term term = (Term) o;
 
+        if (metadata.getHash() != term.metadata.getHash()) return false;
         return factors.equals(term.factors);
     }
 
     @Override
     public int hashCode() {
-        return factors.hashCode();
+        return metadata.getHash();
     }
 }
@@ -2,6 +2,8 @@ package com.savjul.math.expression.compound;
 
 import com.savjul.math.expression.AbstractBaseExpression;
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.ExpressionMetadata;
+import com.savjul.math.expression.HashConsing;
 import com.savjul.math.transformers.Calculator;
 
 import java.util.Objects;
@@ -57,22 +59,28 @@ public final class Trigonometric extends AbstractBaseExpression {
 
     private final Type type;
     private final Expression argument;
+    private final ExpressionMetadata metadata;
 
     public static Trigonometric sin(Expression argument) {
-        return new Trigonometric(Type.sin, argument);
+        return of(Type.sin, argument);
     }
 
     public static Trigonometric cos(Expression argument) {
-        return new Trigonometric(Type.cos, argument);
+        return of(Type.cos, argument);
     }
 
     public static Trigonometric tan(Expression argument) {
-        return new Trigonometric(Type.tan, argument);
+        return of(Type.tan, argument);
+    }
+
+    private static Trigonometric of(Type type, Expression argument) {
+        return HashConsing.intern(new Trigonometric(type, argument));
     }
 
     private Trigonometric(Type type, Expression argument) {
         this.type = type;
         this.argument = argument;
+        this.metadata = ExpressionMetadata.compound(31 + type.ordinal(), argument);
     }
 
     public String getName() {
@@ -90,16 +98,21 @@ public final class Trigonometric extends AbstractBaseExpression {
 
     @Override
     public boolean isConstant() {
-        return argument.isConstant();
+        return metadata.isConstant();
+    }
+
+    @Override
+    public ExpressionMetadata getMetadata() {
+        return metadata;
     }
 
     @Override
     public Trigonometric invert() {
-        return new Trigonometric(type.inverse(), argument);
+        return of(type.inverse(), argument);
     }
 
     public double doubleValue() {
-        return doubleValue(Calculator::doubleValue);
+        return valueAt(Calculator.evaluate(argument));
     }
 
     public double doubleValue(Function<Expression, Double> calc) {
@@ -107,12 +120,16 @@ public final class Trigonometric extends AbstractBaseExpression {
         return type.doubleOp.applyAsDouble(calc.apply(argument));
     }
 
+    public double valueAt(double argument) {
+        return type.doubleOp.applyAsDouble(argument);
+    }
+
     public Trigonometric withArgument(Expression argument) {
-        return new Trigonometric(this.type, argument);
+        return of(this.type, argument);
     }
 
     public Trigonometric inverseWithArgument(Expression argument) {
-        return new Trigonometric(this.type.inverse(), argument);
+        return of(this.type.inverse(), argument);
     }
 
     @Override
@@ -120,12 +137,12 @@ public final class Trigonometric extends AbstractBaseExpression {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Trigonometric that = (Trigonometric) o;
-        return type == that.type &&
+        return type == that.type && metadata.getHash() == that.metadata.getHash() &&
                 Objects.equals(argument, that.argument);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, argument);
+        return metadata.getHash();
     }
 }
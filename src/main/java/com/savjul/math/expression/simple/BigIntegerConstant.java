@@ -0,0 +1,78 @@
+package com.savjul.math.expression.simple;
+
+import com.savjul.math.expression.HashConsing;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+public final class BigIntegerConstant extends Constant<BigInteger> {
+    private final BigInteger value;
+    private final double doubleValue;
+
+    private BigIntegerConstant(BigInteger value) {
+        super(Objects.requireNonNull(value).hashCode());
+        this.value = value;
+        this.doubleValue = value.doubleValue();
+    }
+
+    public static BigIntegerConstant valueOf(BigInteger value) {
+        return HashConsing.intern(new BigIntegerConstant(value));
+    }
+
+    @Override
+    public BigInteger getValue() {
+        return value;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.BIG_INTEGER;
+    }
+
+    @Override
+    public int intValue() {
+        return value.intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return value.longValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return doubleValue;
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isZero() {
+        return value.signum() == 0;
+    }
+
+    @Override
+    public boolean isOne() {
+        return value.equals(BigInteger.ONE);
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return value.equals(((BigIntegerConstant) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+}
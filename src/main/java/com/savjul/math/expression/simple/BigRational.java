@@ -0,0 +1,166 @@
+package com.savjul.math.expression.simple;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+public final class BigRational extends Number implements Comparable<BigRational> {
+    private static final long serialVersionUID = 1L;
+
+    public static final BigRational ZERO = new BigRational(BigInteger.ZERO, BigInteger.ONE);
+    public static final BigRational ONE = new BigRational(BigInteger.ONE, BigInteger.ONE);
+
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+
+    private BigRational(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    public static BigRational of(BigInteger numerator, BigInteger denominator) {
+        Objects.requireNonNull(numerator);
+        Objects.requireNonNull(denominator);
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        return new BigRational(numerator, denominator);
+    }
+
+    public static BigRational of(long numerator, long denominator) {
+        return of(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    public static BigRational valueOf(BigInteger value) {
+        return new BigRational(value, BigInteger.ONE);
+    }
+
+    public static BigRational valueOf(long value) {
+        return valueOf(BigInteger.valueOf(value));
+    }
+
+    public BigInteger getNumerator() {
+        return numerator;
+    }
+
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    public boolean isInteger() {
+        return denominator.equals(BigInteger.ONE);
+    }
+
+    public int signum() {
+        return numerator.signum();
+    }
+
+    public BigRational add(BigRational o) {
+        if (this.denominator.equals(o.denominator)) {
+            return of(this.numerator.add(o.numerator), this.denominator);
+        }
+        return of(this.numerator.multiply(o.denominator).add(o.numerator.multiply(this.denominator)),
+                this.denominator.multiply(o.denominator));
+    }
+
+    public BigRational subtract(BigRational o) {
+        return add(o.negate());
+    }
+
+    public BigRational multiply(BigRational o) {
+        return of(this.numerator.multiply(o.numerator), this.denominator.multiply(o.denominator));
+    }
+
+    public BigRational divide(BigRational o) {
+        return of(this.numerator.multiply(o.denominator), this.denominator.multiply(o.numerator));
+    }
+
+    public BigRational negate() {
+        return new BigRational(numerator.negate(), denominator);
+    }
+
+    public BigRational invert() {
+        return of(denominator, numerator);
+    }
+
+    public BigRational pow(int exponent) {
+        if (exponent < 0) {
+            return invert().pow(-exponent);
+        }
+        return new BigRational(numerator.pow(exponent), denominator.pow(exponent));
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        return numerator.divide(denominator).longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        if (isInteger()) {
+            return numerator.doubleValue();
+        }
+        // at least 55 quotient bits plus a sticky remainder bit decide the round-half-even of a 53-bit mantissa
+        BigInteger n = numerator.abs();
+        int shift = 55 - (n.bitLength() - denominator.bitLength());
+        BigInteger[] division = shift >= 0 ? n.shiftLeft(shift).divideAndRemainder(denominator)
+                : n.divideAndRemainder(denominator.shiftLeft(-shift));
+        BigInteger q = division[0];
+        boolean sticky = division[1].signum() != 0;
+        // fewer mantissa bits below the normal range, so subnormals are also rounded only once
+        int msb = q.bitLength() - 1 - shift;
+        int precision = msb >= -1022 ? 53 : 53 - (-1022 - msb);
+        int drop = q.bitLength() - precision;
+        BigInteger mantissa = q.shiftRight(drop);
+        boolean half = q.testBit(drop - 1);
+        boolean below = sticky || q.getLowestSetBit() < drop - 1;
+        if (half && (below || mantissa.testBit(0))) {
+            mantissa = mantissa.add(BigInteger.ONE);
+        }
+        double result = Math.scalb(mantissa.doubleValue(), drop - shift);
+        return numerator.signum() < 0 ? -result : result;
+    }
+
+    @Override
+    public int compareTo(BigRational o) {
+        return this.numerator.multiply(o.denominator).compareTo(o.numerator.multiply(this.denominator));
+    }
+
+    @Override
+    public String toString() {
+        return isInteger() ? numerator.toString() : numerator + "/" + denominator;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        BigRational that = (BigRational) o;
+
+        return numerator.equals(that.numerator) && denominator.equals(that.denominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numerator.hashCode() + denominator.hashCode();
+    }
+}
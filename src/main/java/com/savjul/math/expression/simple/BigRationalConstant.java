@@ -0,0 +1,83 @@
+package com.savjul.math.expression.simple;
+
+import com.savjul.math.expression.HashConsing;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+public final class BigRationalConstant extends Constant<BigRational> {
+    private final BigRational value;
+    private final double doubleValue;
+
+    private BigRationalConstant(BigRational value) {
+        super(Objects.requireNonNull(value).hashCode());
+        this.value = value;
+        this.doubleValue = value.doubleValue();
+    }
+
+    public static BigRationalConstant valueOf(BigRational value) {
+        return HashConsing.intern(new BigRationalConstant(value));
+    }
+
+    @Override
+    public BigRational getValue() {
+        return value;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.BIG_RATIONAL;
+    }
+
+    @Override
+    public int intValue() {
+        return value.intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return value.longValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return doubleValue;
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return value.getNumerator().divide(value.getDenominator());
+    }
+
+    @Override
+    public BigRational bigRationalValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isZero() {
+        return value.signum() == 0;
+    }
+
+    @Override
+    public boolean isOne() {
+        return value.equals(BigRational.ONE);
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return value.equals(((BigRationalConstant) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+}
@@ -1,56 +1,145 @@
 package com.savjul.math.expression.simple;
 
 import com.savjul.math.expression.AbstractBaseExpression;
+import com.savjul.math.expression.ExpressionMetadata;
 
-import java.util.Objects;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public abstract class Constant<T extends Number> extends AbstractBaseExpression {
+    private static final BigInteger INT_MIN = BigInteger.valueOf(Integer.MIN_VALUE);
+    private static final BigInteger INT_MAX = BigInteger.valueOf(Integer.MAX_VALUE);
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
 
-public class Constant<T extends Number> extends AbstractBaseExpression {
     public static final Constant<Integer> MINUS_ONE = Constant.of(-1);
     public static final Constant<Integer> ZERO = Constant.of(0);
     public static final Constant<Integer> ONE = Constant.of(1);
     public static final Constant<Double> DOUBLE_ZERO = Constant.of(0.0);
     public static final Constant<Double> DOUBLE_ONE = Constant.of(1.0);
-    private final T value;
 
-    protected Constant(T value) {
-        Objects.requireNonNull(value);
-        this.value = value;
+    // ordered by widening: folding two constants yields the wider of their types
+    public enum Type {
+        INT(Integer.class),
+        LONG(Long.class),
+        BIG_INTEGER(BigInteger.class),
+        BIG_RATIONAL(BigRational.class),
+        DOUBLE(Double.class);
+
+        private final Class<? extends Number> valueClass;
+
+        Type(Class<? extends Number> valueClass) {
+            this.valueClass = valueClass;
+        }
+
+        public Type widen(Type other) {
+            return this.compareTo(other) >= 0 ? this : other;
+        }
+
+        public boolean isExact() {
+            return this != DOUBLE;
+        }
     }
 
-    public static <V extends Number> Constant<V> of(V v) {
-        return new Constant<>(v);
+    private final ExpressionMetadata metadata;
+
+    // hash of the value, which is also the constant's hashCode()
+    protected Constant(int hash) {
+        this.metadata = ExpressionMetadata.constant(hash);
     }
 
-    public T getValue() { return value; }
+    public static Constant<Integer> of(int v) {
+        return IntConstant.valueOf(v);
+    }
 
-    public boolean isSameType(Constant<?> other) {
-        return this.value.getClass() == other.value.getClass();
+    public static Constant<Long> of(long v) {
+        return LongConstant.valueOf(v);
     }
 
-    public boolean isSameType(Class<? extends Number> klass) {
-        return klass == value.getClass();
+    public static Constant<Double> of(double v) {
+        return DoubleConstant.valueOf(v);
     }
 
-    @Override
-    public boolean isConstant() {
-        return true;
+    public static Constant<?> of(BigInteger v) {
+        if (v.compareTo(INT_MIN) >= 0 && v.compareTo(INT_MAX) <= 0) {
+            return of(v.intValue());
+        }
+        else if (v.compareTo(LONG_MIN) >= 0 && v.compareTo(LONG_MAX) <= 0) {
+            return of(v.longValue());
+        }
+        return BigIntegerConstant.valueOf(v);
     }
 
-    @Override
-    public String toString() {
-        return getValue().toString();
+    public static Constant<?> of(BigRational v) {
+        return v.isInteger() ? of(v.getNumerator()) : BigRationalConstant.valueOf(v);
+    }
+
+    // the narrowest constant holding the value exactly; a Number of any other kind goes through doubleValue()
+    public static Constant<?> of(Number v) {
+        if (v instanceof Integer || v instanceof Short || v instanceof Byte || v instanceof AtomicInteger) {
+            return of(v.intValue());
+        }
+        else if (v instanceof Long || v instanceof AtomicLong) {
+            return of(v.longValue());
+        }
+        else if (v instanceof BigInteger) {
+            return of((BigInteger) v);
+        }
+        else if (v instanceof BigRational) {
+            return of((BigRational) v);
+        }
+        else if (v instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) v;
+            BigInteger unscaled = decimal.unscaledValue();
+            return decimal.scale() > 0 ? of(BigRational.of(unscaled, BigInteger.TEN.pow(decimal.scale())))
+                    : of(unscaled.multiply(BigInteger.TEN.pow(-decimal.scale())));
+        }
+        return of(v.doubleValue());
+    }
+
+    public abstract T getValue();
+
+    public abstract Type getType();
+
+    public abstract int intValue();
+
+    public abstract long longValue();
+
+    public abstract double doubleValue();
+
+    public BigInteger bigIntegerValue() {
+        return BigInteger.valueOf(longValue());
+    }
+
+    public BigRational bigRationalValue() {
+        return BigRational.valueOf(bigIntegerValue());
+    }
+
+    public boolean isExact() {
+        return getType().isExact();
+    }
+
+    public abstract boolean isZero();
+
+    public abstract boolean isOne();
+
+    public boolean isSameType(Constant<?> other) {
+        return this.getType() == other.getType();
+    }
+
+    public boolean isSameType(Class<? extends Number> klass) {
+        return klass == getType().valueClass;
     }
 
     @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Constant<?> that = (Constant<?>) o;
-        return Objects.equals(value, that.value);
+    public boolean isConstant() {
+        return true;
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(value);
+    public ExpressionMetadata getMetadata() {
+        return metadata;
     }
 }
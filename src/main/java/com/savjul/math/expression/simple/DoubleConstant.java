@@ -0,0 +1,68 @@
+package com.savjul.math.expression.simple;
+
+import com.savjul.math.expression.HashConsing;
+
+public class DoubleConstant extends Constant<Double> {
+    private final double value;
+
+    DoubleConstant(double value) {
+        super(Double.hashCode(value));
+        this.value = value;
+    }
+
+    public static DoubleConstant valueOf(double value) {
+        return HashConsing.intern(new DoubleConstant(value));
+    }
+
+    @Override
+    public final Double getValue() {
+        return value;
+    }
+
+    @Override
+    public final Type getType() {
+        return Type.DOUBLE;
+    }
+
+    @Override
+    public final int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public final long longValue() {
+        return (long) value;
+    }
+
+    @Override
+    public final double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public final boolean isZero() {
+        return value == 0.0;
+    }
+
+    @Override
+    public final boolean isOne() {
+        return value == 1.0;
+    }
+
+    @Override
+    public String toString() {
+        return Double.toString(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Double.compare(value, ((DoubleConstant) o).value) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(value);
+    }
+}
@@ -0,0 +1,85 @@
+package com.savjul.math.expression.simple;
+
+import com.savjul.math.expression.HashConsing;
+
+public final class IntConstant extends Constant<Integer> {
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 255;
+
+    private final int value;
+
+    private IntConstant(int value) {
+        super(Integer.hashCode(value));
+        this.value = value;
+    }
+
+    public static IntConstant valueOf(int value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return Cache.VALUES[value - CACHE_LOW];
+        }
+        return HashConsing.intern(new IntConstant(value));
+    }
+
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.INT;
+    }
+
+    @Override
+    public int intValue() {
+        return value;
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isZero() {
+        return value == 0;
+    }
+
+    @Override
+    public boolean isOne() {
+        return value == 1;
+    }
+
+    @Override
+    public String toString() {
+        return Integer.toString(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return value == ((IntConstant) o).value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(value);
+    }
+
+    // holder class so that Constant's static fields can be initialized through valueOf
+    private static final class Cache {
+        private static final IntConstant[] VALUES = new IntConstant[CACHE_HIGH - CACHE_LOW + 1];
+
+        static {
+            for (int idx = 0; idx < VALUES.length; idx++) {
+                VALUES[idx] = new IntConstant(idx + CACHE_LOW);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.savjul.math.expression.simple;
+
+import com.savjul.math.expression.HashConsing;
+
+public final class LongConstant extends Constant<Long> {
+    private final long value;
+
+    private LongConstant(long value) {
+        super(Long.hashCode(value));
+        this.value = value;
+    }
+
+    public static LongConstant valueOf(long value) {
+        return HashConsing.intern(new LongConstant(value));
+    }
+
+    @Override
+    public Long getValue() {
+        return value;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.LONG;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isZero() {
+        return value == 0L;
+    }
+
+    @Override
+    public boolean isOne() {
+        return value == 1L;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return value == ((LongConstant) o).value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+}
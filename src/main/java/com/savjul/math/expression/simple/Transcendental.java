@@ -2,7 +2,7 @@ package com.savjul.math.expression.simple;
 
 import com.savjul.math.expression.Expression;
 
-public final class Transcendental extends Constant<Double> {
+public final class Transcendental extends DoubleConstant {
     private final String name;
 
     public static final Expression E = new Transcendental("e", Math.E);
@@ -2,25 +2,60 @@ package com.savjul.math.expression.simple;
 
 import com.savjul.math.expression.AbstractBaseExpression;
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.ExpressionMetadata;
+import com.savjul.math.expression.HashConsing;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Variable extends AbstractBaseExpression {
+    private static final Map<String, Integer> INDICES = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+
     private final String name;
+    private final int index;
+    private final ExpressionMetadata metadata;
 
     private Variable(String name) {
         Objects.requireNonNull(name);
         this.name = name;
+        this.index = INDICES.computeIfAbsent(name, Variable::register);
+        this.metadata = ExpressionMetadata.variable(name.hashCode(), index);
+    }
+
+    private static int register(String name) {
+        synchronized (NAMES) {
+            NAMES.add(name);
+            return NAMES.size() - 1;
+        }
+    }
+
+    public static String getName(int index) {
+        synchronized (NAMES) {
+            return NAMES.get(index);
+        }
     }
 
     public static Expression of(String name) {
-        return new Variable(name);
+        return HashConsing.intern(new Variable(name));
     }
 
     public String getName() {
         return name;
     }
 
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public ExpressionMetadata getMetadata() {
+        return metadata;
+    }
+
     @Override
     public boolean isConstant() {
         return false;
@@ -43,6 +78,6 @@ public final class Variable extends AbstractBaseExpression {
 
     @Override
     public int hashCode() {
-        return name.hashCode();
+        return metadata.getHash();
     }
 }
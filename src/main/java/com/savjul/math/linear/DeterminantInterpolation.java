@@ -0,0 +1,129 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.simple.BigRational;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.polynomial.SparsePolynomial;
+import com.savjul.math.transformers.ParallelLoop;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Determinant of a polynomial matrix without symbolic expansion. The degree of the determinant in each variable
+ * is bounded by the row (or column) degree sums, the matrix is evaluated on the grid of integer points 0..d for
+ * every variable and each point reduced to an exact rational by Bareiss elimination, and the result is rebuilt
+ * by Newton interpolation one variable at a time. Grid points are independent and evaluated on the pool.
+ */
+final class DeterminantInterpolation {
+    // the grid is a product of degree bounds; beyond this many points expansion is the better choice anyway
+    static final int MAX_POINTS = 1 << 24;
+
+    private final SparsePolynomial[][] entries;
+    private final Variable[] variables;
+    private final int[] bounds;
+
+    private DeterminantInterpolation(Expression[][] matrix) {
+        int n = matrix.length;
+        this.entries = new SparsePolynomial[n][n];
+        Set<Variable> variables = new LinkedHashSet<>();
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                entries[idx][jdx] = SparsePolynomial.of(matrix[idx][jdx]);
+                variables.addAll(entries[idx][jdx].getVariables());
+            }
+        }
+        this.variables = variables.toArray(new Variable[0]);
+        this.bounds = new int[this.variables.length];
+        long points = 1;
+        for (int vdx = 0; vdx < bounds.length; vdx++) {
+            bounds[vdx] = degreeBound(this.variables[vdx]);
+            points *= bounds[vdx] + 1;
+            if (points > MAX_POINTS) {
+                throw new IllegalArgumentException("Interpolation grid exceeds " + MAX_POINTS + " points");
+            }
+        }
+    }
+
+    static Expression determinant(Expression[][] matrix, ForkJoinPool pool) {
+        return new DeterminantInterpolation(matrix).interpolate(pool).narrow().toExpression();
+    }
+
+    private SparsePolynomial interpolate(ForkJoinPool pool) {
+        int points = 1;
+        for (int bound : bounds) {
+            points *= bound + 1;
+        }
+        BigRational[] values = new BigRational[points];
+        ParallelLoop.forEach(pool, points, 2, idx -> values[idx] = evaluate(idx));
+        return interpolate(values, 0, 0);
+    }
+
+    // grid points are numbered in mixed radix with the first variable most significant
+    private BigRational evaluate(int index) {
+        Map<Variable, BigRational> point = new HashMap<>(variables.length * 2);
+        for (int vdx = variables.length - 1; vdx >= 0; vdx--) {
+            point.put(variables[vdx], BigRational.valueOf(index % (bounds[vdx] + 1)));
+            index /= bounds[vdx] + 1;
+        }
+        int n = entries.length;
+        BigRational[][] matrix = new BigRational[n][n];
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                matrix[idx][jdx] = entries[idx][jdx].evaluate(point);
+            }
+        }
+        return Determinants.bareiss(matrix);
+    }
+
+    // the polynomial in variables vdx.. through the values of the grid block starting at offset
+    private SparsePolynomial interpolate(BigRational[] values, int vdx, int offset) {
+        if (vdx == variables.length) {
+            return SparsePolynomial.constant(Constant.of(values[offset]));
+        }
+        int stride = 1;
+        for (int idx = vdx + 1; idx < bounds.length; idx++) {
+            stride *= bounds[idx] + 1;
+        }
+        int d = bounds[vdx];
+        // Newton divided differences over the nodes 0..d, in place
+        SparsePolynomial[] c = new SparsePolynomial[d + 1];
+        for (int idx = 0; idx <= d; idx++) {
+            c[idx] = interpolate(values, vdx + 1, offset + idx * stride);
+        }
+        for (int order = 1; order <= d; order++) {
+            Constant<?> scale = Constant.of(BigRational.of(1, order));
+            for (int idx = d; idx >= order; idx--) {
+                c[idx] = c[idx].minus(c[idx - 1]).times(scale);
+            }
+        }
+        SparsePolynomial variable = SparsePolynomial.variable(variables[vdx]);
+        SparsePolynomial result = c[d];
+        for (int idx = d - 1; idx >= 0; idx--) {
+            result = result.times(variable.minus(SparsePolynomial.constant(Constant.of(idx)))).plus(c[idx]);
+        }
+        return result;
+    }
+
+    // every term of the determinant takes one entry per row and one per column
+    private int degreeBound(Variable variable) {
+        int n = entries.length;
+        int rows = 0;
+        int columns = 0;
+        for (int idx = 0; idx < n; idx++) {
+            int row = 0;
+            int column = 0;
+            for (int jdx = 0; jdx < n; jdx++) {
+                row = Math.max(row, entries[idx][jdx].getDegree(variable));
+                column = Math.max(column, entries[jdx][idx].getDegree(variable));
+            }
+            rows += row;
+            columns += column;
+        }
+        return Math.min(rows, columns);
+    }
+}
@@ -0,0 +1,19 @@
+package com.savjul.math.linear;
+
+public enum DeterminantMethod {
+    // MODULAR for integer matrices; from BAREISS_THRESHOLD rows up Bareiss for polynomial matrices with exact
+    // coefficients and memoized minors otherwise; cofactor expansion below
+    AUTO,
+    // recursive Laplace expansion along the first row; O(n!) but works for any entries
+    COFACTOR,
+    // fraction-free elimination with exact polynomial division; entries must be polynomials with exact coefficients
+    BAREISS,
+    // Laplace expansion with each minor computed once per column subset; O(n 2^n) and division-free
+    MINORS,
+    // MINORS with the subsets of each size expanded on the common fork-join pool
+    PARALLEL_MINORS,
+    // exact numeric determinants on a grid of integer points, interpolated back; entries must be exact polynomials
+    INTERPOLATION,
+    // residues modulo word-sized primes combined by CRT; every entry must be an integer constant
+    MODULAR
+}
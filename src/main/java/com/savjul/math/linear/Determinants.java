@@ -0,0 +1,272 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.simple.BigRational;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.polynomial.SparsePolynomial;
+import com.savjul.math.transformers.ParallelLoop;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+// determinant algorithms that work on the entries of a square matrix directly
+final class Determinants {
+    // from this size on AUTO prefers elimination; below it cofactor expansion has fewer polynomial products
+    static final int BAREISS_THRESHOLD = 4;
+
+    static boolean isPolynomial(Expression[][] matrix) {
+        for (Expression[] row : matrix) {
+            for (Expression value : row) {
+                if (!SparsePolynomial.isPolynomial(value)) return false;
+            }
+        }
+        return true;
+    }
+
+    // polynomial entries with no double coefficient, as Bareiss elimination needs
+    static boolean isExactPolynomial(Expression[][] matrix) {
+        if (!isPolynomial(matrix)) {
+            return false;
+        }
+        for (Expression[] row : matrix) {
+            for (Expression value : row) {
+                if (!SparsePolynomial.of(value).isExact()) return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Fraction-free Gaussian elimination: after step k every remaining entry is a k+1 by k+1 minor of the input,
+     * so dividing by the previous pivot is exact and intermediate entries stay polynomials of bounded degree.
+     * A zero pivot is replaced by the sparsest non-zero entry below it, flipping the sign.
+     */
+    static Expression bareiss(Expression[][] matrix) {
+        int n = matrix.length;
+        SparsePolynomial[][] a = new SparsePolynomial[n][];
+        for (int idx = 0; idx < n; idx++) {
+            a[idx] = new SparsePolynomial[n];
+            for (int jdx = 0; jdx < n; jdx++) {
+                a[idx][jdx] = SparsePolynomial.of(matrix[idx][jdx]);
+                if (!a[idx][jdx].isExact()) {
+                    throw new IllegalArgumentException("Bareiss determinant requires exact coefficients: " + matrix[idx][jdx]);
+                }
+            }
+        }
+        boolean negate = false;
+        SparsePolynomial previous = SparsePolynomial.ONE;
+        for (int k = 0; k < n - 1; k++) {
+            if (a[k][k].isZero()) {
+                int pivot = -1;
+                for (int idx = k + 1; idx < n; idx++) {
+                    if (!a[idx][k].isZero() && (pivot < 0 || a[idx][k].getTermCount() < a[pivot][k].getTermCount())) {
+                        pivot = idx;
+                    }
+                }
+                if (pivot < 0) {
+                    return SparsePolynomial.ZERO.toExpression();
+                }
+                SparsePolynomial[] row = a[k];
+                a[k] = a[pivot];
+                a[pivot] = row;
+                negate = !negate;
+            }
+            SparsePolynomial[] pivotRow = a[k];
+            SparsePolynomial pivot = pivotRow[k];
+            for (int idx = k + 1; idx < n; idx++) {
+                SparsePolynomial[] row = a[idx];
+                SparsePolynomial factor = row[k];
+                for (int jdx = k + 1; jdx < n; jdx++) {
+                    SparsePolynomial value = row[jdx].times(pivot);
+                    if (!factor.isZero()) {
+                        value = value.minus(factor.times(pivotRow[jdx]));
+                    }
+                    row[jdx] = previous.equals(SparsePolynomial.ONE) ? value
+                            : value.divideExact(previous);
+                }
+            }
+            previous = pivot;
+        }
+        SparsePolynomial result = a[n - 1][n - 1];
+        return (negate ? result.negate() : result).narrow().toExpression();
+    }
+
+    // the same elimination over exact integers; overwrites the input
+    static BigInteger bareiss(BigInteger[][] a) {
+        int n = a.length;
+        if (n == 0) {
+            return BigInteger.ONE;
+        }
+        boolean negate = false;
+        BigInteger previous = BigInteger.ONE;
+        for (int k = 0; k < n - 1; k++) {
+            if (a[k][k].signum() == 0) {
+                int pivot = k + 1;
+                while (pivot < n && a[pivot][k].signum() == 0) {
+                    pivot++;
+                }
+                if (pivot == n) {
+                    return BigInteger.ZERO;
+                }
+                BigInteger[] row = a[k];
+                a[k] = a[pivot];
+                a[pivot] = row;
+                negate = !negate;
+            }
+            BigInteger[] pivotRow = a[k];
+            BigInteger pivot = pivotRow[k];
+            for (int idx = k + 1; idx < n; idx++) {
+                BigInteger[] row = a[idx];
+                BigInteger factor = row[k];
+                for (int jdx = k + 1; jdx < n; jdx++) {
+                    BigInteger value = row[jdx].multiply(pivot).subtract(factor.multiply(pivotRow[jdx]));
+                    row[jdx] = previous.equals(BigInteger.ONE) ? value : value.divide(previous);
+                }
+            }
+            previous = pivot;
+        }
+        return negate ? a[n - 1][n - 1].negate() : a[n - 1][n - 1];
+    }
+
+    // rows are scaled to integers first and the product of the scales divided out at the end
+    static BigRational bareiss(BigRational[][] matrix) {
+        int n = matrix.length;
+        BigInteger[][] a = new BigInteger[n][];
+        BigInteger scale = BigInteger.ONE;
+        for (int idx = 0; idx < n; idx++) {
+            BigInteger lcm = BigInteger.ONE;
+            for (BigRational value : matrix[idx]) {
+                BigInteger denominator = value.getDenominator();
+                lcm = lcm.divide(lcm.gcd(denominator)).multiply(denominator);
+            }
+            a[idx] = new BigInteger[n];
+            for (int jdx = 0; jdx < n; jdx++) {
+                BigRational value = matrix[idx][jdx];
+                a[idx][jdx] = value.getNumerator().multiply(lcm.divide(value.getDenominator()));
+            }
+            scale = scale.multiply(lcm);
+        }
+        return BigRational.of(bareiss(a), scale);
+    }
+
+    static boolean isInteger(Expression[][] matrix) {
+        for (Expression[] row : matrix) {
+            for (Expression value : row) {
+                if (!(value instanceof Constant)) return false;
+                Constant.Type type = ((Constant<?>) value).getType();
+                if (type != Constant.Type.INT && type != Constant.Type.LONG && type != Constant.Type.BIG_INTEGER) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Exact integer determinant from its residues modulo 31-bit primes, so elimination runs in plain long
+     * arithmetic. Primes are taken until their product exceeds twice the Hadamard bound, which pins down the
+     * signed result; the residues are independent and computed on the pool, then combined by Garner's CRT.
+     */
+    static Constant<?> modular(Expression[][] matrix, ForkJoinPool pool) {
+        int n = matrix.length;
+        BigInteger[][] a = new BigInteger[n][n];
+        // log2 of the Hadamard bound, rounded up row by row
+        long bits = 0;
+        for (int idx = 0; idx < n; idx++) {
+            BigInteger norm = BigInteger.ZERO;
+            for (int jdx = 0; jdx < n; jdx++) {
+                a[idx][jdx] = ((Constant<?>) matrix[idx][jdx]).bigIntegerValue();
+                norm = norm.add(a[idx][jdx].multiply(a[idx][jdx]));
+            }
+            if (norm.signum() == 0) {
+                return Constant.ZERO;
+            }
+            bits += (norm.bitLength() + 1) / 2;
+        }
+        long[] primes = primes(bits + 2);
+        long[] residues = new long[primes.length];
+        ParallelLoop.forEach(pool, primes.length, 2, idx -> residues[idx] = determinant(a, primes[idx]));
+        BigInteger result = BigInteger.ZERO;
+        BigInteger modulus = BigInteger.ONE;
+        for (int idx = 0; idx < primes.length; idx++) {
+            BigInteger p = BigInteger.valueOf(primes[idx]);
+            long r = result.mod(p).longValue();
+            long inverse = modulus.mod(p).modInverse(p).longValue();
+            long step = Math.floorMod(residues[idx] - r, primes[idx]) * inverse % primes[idx];
+            result = result.add(modulus.multiply(BigInteger.valueOf(step)));
+            modulus = modulus.multiply(p);
+        }
+        if (result.shiftLeft(1).compareTo(modulus) > 0) {
+            result = result.subtract(modulus);
+        }
+        return Constant.of(result);
+    }
+
+    // distinct primes below 2^31, largest first, whose product has more than the given number of bits
+    private static long[] primes(long bits) {
+        long[] result = new long[(int) ((bits + 29) / 30)];
+        long candidate = Integer.MAX_VALUE;
+        for (int idx = 0; idx < result.length; candidate -= 2) {
+            if (BigInteger.valueOf(candidate).isProbablePrime(40)) {
+                result[idx++] = candidate;
+            }
+        }
+        return result;
+    }
+
+    // Gaussian elimination over Z/p; every product of two residues fits in a long
+    private static long determinant(BigInteger[][] matrix, long p) {
+        int n = matrix.length;
+        BigInteger modulus = BigInteger.valueOf(p);
+        long[][] a = new long[n][n];
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                a[idx][jdx] = matrix[idx][jdx].mod(modulus).longValue();
+            }
+        }
+        long result = 1;
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            while (pivot < n && a[pivot][k] == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                return 0;
+            }
+            if (pivot != k) {
+                long[] row = a[k];
+                a[k] = a[pivot];
+                a[pivot] = row;
+                result = p - result;
+            }
+            long[] pivotRow = a[k];
+            result = result * pivotRow[k] % p;
+            long inverse = inverse(pivotRow[k], p);
+            for (int idx = k + 1; idx < n; idx++) {
+                long[] row = a[idx];
+                if (row[k] == 0) continue;
+                long factor = row[k] * inverse % p;
+                for (int jdx = k + 1; jdx < n; jdx++) {
+                    row[jdx] = (row[jdx] - factor * pivotRow[jdx] % p + p) % p;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long inverse(long value, long p) {
+        long r0 = p, r1 = value, t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        return t0 < 0 ? t0 + p : t0;
+    }
+
+    private Determinants() {}
+}
@@ -0,0 +1,233 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.transformers.Calculator;
+
+import java.util.Arrays;
+
+/**
+ * Dense numeric matrix stored row-major in one flat {@code double[]}. Products and transposes walk the data in
+ * tiles small enough to stay in L1/L2 cache, and the product and matrix-vector kernels are unrolled four ways;
+ * no object is allocated per entry.
+ */
+public final class DoubleMatrix {
+    // transpose tiles: 64 x 64 doubles is 32 KiB
+    static final int BLOCK = 64;
+    // panel of the right operand reused by every row of a product: 128 x 512 doubles is 512 KiB, an L2's worth
+    static final int K_BLOCK = 128;
+    static final int J_BLOCK = 512;
+
+    private final int rows;
+    private final int columns;
+    private final double[] data;
+
+    private DoubleMatrix(int rows, int columns, double[] data) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = data;
+    }
+
+    public static DoubleMatrix zeros(int rows, int columns) {
+        return new DoubleMatrix(rows, columns, new double[rows * columns]);
+    }
+
+    public static DoubleMatrix getI(int n) {
+        double[] data = new double[n * n];
+        for (int idx = 0; idx < n; idx++) {
+            data[idx * n + idx] = 1.0;
+        }
+        return new DoubleMatrix(n, n, data);
+    }
+
+    public static DoubleMatrix of(int rows, int columns, double... data) {
+        if (data.length != rows * columns) {
+            throw new IllegalArgumentException("Expected " + rows * columns + " values but got " + data.length);
+        }
+        return new DoubleMatrix(rows, columns, Arrays.copyOf(data, data.length));
+    }
+
+    public static DoubleMatrix of(double[][] matrix) {
+        int rows = matrix.length;
+        int columns = rows == 0 ? 0 : matrix[0].length;
+        double[] data = new double[rows * columns];
+        for (int idx = 0; idx < rows; idx++) {
+            if (matrix[idx].length != columns) {
+                throw new IllegalArgumentException("Ragged matrix: row " + idx + " has " + matrix[idx].length + " columns");
+            }
+            System.arraycopy(matrix[idx], 0, data, idx * columns, columns);
+        }
+        return new DoubleMatrix(rows, columns, data);
+    }
+
+    // every entry must be variable-free; bind variables with VariableExpander first
+    public static DoubleMatrix of(Matrix2D matrix) {
+        int rows = matrix.rows();
+        int columns = matrix.columns();
+        double[] data = new double[rows * columns];
+        for (int idx = 0; idx < rows; idx++) {
+            for (int jdx = 0; jdx < columns; jdx++) {
+                data[idx * columns + jdx] = Calculator.evaluate(matrix.get(idx, jdx));
+            }
+        }
+        return new DoubleMatrix(rows, columns, data);
+    }
+
+    public Matrix2D toMatrix2D() {
+        Expression[][] matrix = new Expression[rows][columns];
+        for (int idx = 0; idx < rows; idx++) {
+            for (int jdx = 0; jdx < columns; jdx++) {
+                matrix[idx][jdx] = Constant.of(data[idx * columns + jdx]);
+            }
+        }
+        return Matrix2D.of(matrix);
+    }
+
+    public double get(int i, int j) {
+        return data[i * columns + j];
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(data, data.length);
+    }
+
+    public DoubleMatrix plus(DoubleMatrix o) {
+        if (rows != o.rows || columns != o.columns) {
+            throw new RuntimeException("Matrixes must be same size");
+        }
+        double[] result = new double[data.length];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = data[idx] + o.data[idx];
+        }
+        return new DoubleMatrix(rows, columns, result);
+    }
+
+    public DoubleMatrix times(double scalar) {
+        double[] result = new double[data.length];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = data[idx] * scalar;
+        }
+        return new DoubleMatrix(rows, columns, result);
+    }
+
+    /*
+     * i-k-j order so the innermost loop streams along a row of both o and the result, four result rows at a time
+     * so every element of o loaded is used four times. Tiling k and j keeps the K_BLOCK x J_BLOCK panel of o in
+     * cache while all rows sweep over it. Each entry still sums its products in k order, as the naive loop does.
+     */
+    public DoubleMatrix times(DoubleMatrix o) {
+        if (columns != o.rows) {
+            throw new RuntimeException("Matrix size mismatch: " + rows + "x" + columns + " times " + o.rows + "x" + o.columns);
+        }
+        int n = o.columns;
+        double[] a = data;
+        double[] b = o.data;
+        double[] c = new double[rows * n];
+        for (int kk = 0; kk < columns; kk += K_BLOCK) {
+            int kEnd = Math.min(kk + K_BLOCK, columns);
+            for (int jj = 0; jj < n; jj += J_BLOCK) {
+                int jEnd = Math.min(jj + J_BLOCK, n);
+                int i = 0;
+                for (; i + 3 < rows; i += 4) {
+                    int a0 = i * columns, a1 = a0 + columns, a2 = a1 + columns, a3 = a2 + columns;
+                    int c0 = i * n, c1 = c0 + n, c2 = c1 + n, c3 = c2 + n;
+                    for (int k = kk; k < kEnd; k++) {
+                        double x0 = a[a0 + k], x1 = a[a1 + k], x2 = a[a2 + k], x3 = a[a3 + k];
+                        int bRow = k * n;
+                        for (int j = jj; j < jEnd; j++) {
+                            double y = b[bRow + j];
+                            c[c0 + j] += x0 * y;
+                            c[c1 + j] += x1 * y;
+                            c[c2 + j] += x2 * y;
+                            c[c3 + j] += x3 * y;
+                        }
+                    }
+                }
+                for (; i < rows; i++) {
+                    int a0 = i * columns;
+                    int c0 = i * n;
+                    for (int k = kk; k < kEnd; k++) {
+                        double x0 = a[a0 + k];
+                        int bRow = k * n;
+                        for (int j = jj; j < jEnd; j++) {
+                            c[c0 + j] += x0 * b[bRow + j];
+                        }
+                    }
+                }
+            }
+        }
+        return new DoubleMatrix(rows, n, c);
+    }
+
+    public DoubleVector times(DoubleVector vector) {
+        double[] v = vector.getValues();
+        if (columns != v.length) {
+            throw new RuntimeException("Matrix size mismatch: " + rows + "x" + columns + " times " + v.length);
+        }
+        double[] result = new double[rows];
+        for (int idx = 0; idx < rows; idx++) {
+            result[idx] = DoubleVector.dot(data, idx * columns, v, columns);
+        }
+        return new DoubleVector(result);
+    }
+
+    public DoubleMatrix transpose() {
+        double[] result = new double[data.length];
+        for (int ii = 0; ii < rows; ii += BLOCK) {
+            int iEnd = Math.min(ii + BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += BLOCK) {
+                int jEnd = Math.min(jj + BLOCK, columns);
+                for (int i = ii; i < iEnd; i++) {
+                    for (int j = jj; j < jEnd; j++) {
+                        result[j * rows + i] = data[i * columns + j];
+                    }
+                }
+            }
+        }
+        return new DoubleMatrix(columns, rows, result);
+    }
+
+    public double trace() {
+        if (rows != columns) {
+            throw new RuntimeException("Square matrix required for this operation");
+        }
+        double result = 0.0;
+        for (int idx = 0; idx < rows; idx++) {
+            result += data[idx * columns + idx];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (int idx = 0; idx < rows; idx++) {
+            if (idx > 0) result.append(", ");
+            result.append(Arrays.toString(Arrays.copyOfRange(data, idx * columns, (idx + 1) * columns)));
+        }
+        return result.append("]").toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DoubleMatrix matrix = (DoubleMatrix) o;
+
+        return rows == matrix.rows && columns == matrix.columns && Arrays.equals(data, matrix.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + columns) + Arrays.hashCode(data);
+    }
+}
@@ -0,0 +1,117 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.transformers.Calculator;
+
+import java.util.Arrays;
+
+public final class DoubleVector {
+    private final double[] values;
+
+    DoubleVector(double[] values) {
+        this.values = values;
+    }
+
+    double[] getValues() {
+        return values;
+    }
+
+    public static DoubleVector of(double... values) {
+        return new DoubleVector(Arrays.copyOf(values, values.length));
+    }
+
+    // every entry must be variable-free; bind variables with VariableExpander first
+    public static DoubleVector of(Vector vector) {
+        double[] values = new double[vector.size()];
+        for (int idx = 0; idx < values.length; idx++) {
+            values[idx] = Calculator.evaluate(vector.get(idx));
+        }
+        return new DoubleVector(values);
+    }
+
+    public Vector toVector() {
+        Expression[] result = new Expression[values.length];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = Constant.of(values[idx]);
+        }
+        return Vector.of(result);
+    }
+
+    public double get(int idx) {
+        return values[idx];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    public DoubleVector plus(DoubleVector o) {
+        check(o);
+        double[] result = new double[values.length];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = values[idx] + o.values[idx];
+        }
+        return new DoubleVector(result);
+    }
+
+    public DoubleVector times(double scalar) {
+        double[] result = new double[values.length];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = values[idx] * scalar;
+        }
+        return new DoubleVector(result);
+    }
+
+    public double dot(DoubleVector o) {
+        check(o);
+        return dot(values, 0, o.values, values.length);
+    }
+
+    // four independent partial sums break the dependency chain on the accumulator
+    static double dot(double[] a, int offset, double[] b, int n) {
+        double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+        int idx = 0;
+        for (; idx + 3 < n; idx += 4) {
+            s0 += a[offset + idx] * b[idx];
+            s1 += a[offset + idx + 1] * b[idx + 1];
+            s2 += a[offset + idx + 2] * b[idx + 2];
+            s3 += a[offset + idx + 3] * b[idx + 3];
+        }
+        for (; idx < n; idx++) {
+            s0 += a[offset + idx] * b[idx];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private void check(DoubleVector o) {
+        if (this.values.length != o.values.length) {
+            throw new RuntimeException("Vector size mismatch: "
+                    + this.values.length + " vs " + o.values.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DoubleVector vector = (DoubleVector) o;
+
+        return Arrays.equals(values, vector.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+}
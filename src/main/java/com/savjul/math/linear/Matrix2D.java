@@ -1,9 +1,11 @@
 package com.savjul.math.linear;
 
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
 import com.savjul.math.expression.simple.Constant;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +29,11 @@ public final class Matrix2D {
         return new Matrix2D(matrix);
     }
 
+    // takes ownership of the array
+    static Matrix2D wrap(Expression[][] matrix) {
+        return new Matrix2D(matrix);
+    }
+
     public static Matrix2D of(Expression[][] matrix) {
         matrix = Arrays.copyOf(matrix, matrix.length);
         for (int idx = 0; idx < matrix.length; idx++) {
@@ -39,6 +46,14 @@ public final class Matrix2D {
         return this.matrix[i][j];
     }
 
+    public int rows() {
+        return this.matrix.length;
+    }
+
+    public int columns() {
+        return this.matrix.length == 0 ? 0 : this.matrix[0].length;
+    }
+
     public Matrix2D plus(Matrix2D o) {
         check(o);
         Expression[][] matrix = new Expression[this.matrix.length][];
@@ -69,27 +84,32 @@ public final class Matrix2D {
         for (int idx = 0; idx < matrix.length; idx++) {
             Expression[] row = new Expression[o.matrix[0].length];
             for (int jdx = 0; jdx < row.length; jdx++) {
-                Expression r = Constant.ZERO;
-                for (int rdx = 0; rdx < this.matrix[0].length; rdx++) {
-                    r = r.plus(this.matrix[idx][rdx].times(o.matrix[rdx][jdx]));
-                }
-                row[jdx] = r;
+                row[jdx] = product(o, idx, jdx);
             }
             matrix[idx] = row;
         }
         return new Matrix2D(matrix);
     }
 
+    // entry (i, j) of this times o
+    Expression product(Matrix2D o, int i, int j) {
+        Polynomial.Builder r = Polynomial.builder();
+        for (int rdx = 0; rdx < this.matrix[0].length; rdx++) {
+            r.add(this.matrix[i][rdx].times(o.matrix[rdx][j]));
+        }
+        return r.build();
+    }
+
     public Vector times(Vector vector) {
         Expression[] result = new Expression[this.matrix.length];
         Expression[] v = vector.getValues();
         for (int idx = 0; idx < result.length; idx++) {
             Expression[] row = this.matrix[idx];
-            Expression r = Constant.ZERO;
+            Polynomial.Builder r = Polynomial.builder();
             for (int jdx = 0; jdx < row.length; jdx++) {
-                r = r.plus(row[jdx].times(v[jdx]));
+                r.add(row[jdx].times(v[jdx]));
             }
-            result[idx] = r;
+            result[idx] = r.build();
         }
         return Vector.of(result);
     }
@@ -118,32 +138,76 @@ public final class Matrix2D {
     }
 
     public Matrix2D simplify() {
-        return apply(Expression::simplify);
+        return isSimplified() ? this : apply(Expression::simplify);
+    }
+
+    boolean isSimplified() {
+        for (Expression[] row : this.matrix) {
+            for (Expression value : row) {
+                if (!value.isSimplified()) return false;
+            }
+        }
+        return true;
     }
 
     public Expression trace() {
         checkSquare();
-        Expression result = Constant.ZERO;
+        Polynomial.Builder result = Polynomial.builder();
         for (int idx = 0; idx < this.matrix.length; idx++) {
-            result = result.plus(this.matrix[idx][idx]);
+            result.add(this.matrix[idx][idx]);
         }
-        return result;
+        return result.build();
     }
 
     public Expression det() {
+        return det(DeterminantMethod.AUTO);
+    }
+
+    public Expression det(DeterminantMethod method) {
         checkSquare();
-        return this.determinant();
+        switch (method) {
+            case COFACTOR:
+                return this.determinant();
+            case BAREISS:
+                return Determinants.bareiss(simplified().matrix);
+            case MINORS:
+                return MinorExpansion.of(this).determinant();
+            case PARALLEL_MINORS:
+                return MinorExpansion.parallel(this).determinant();
+            case INTERPOLATION:
+                return DeterminantInterpolation.determinant(simplified().matrix, ForkJoinPool.commonPool());
+            case MODULAR:
+                if (!Determinants.isInteger(this.matrix)) {
+                    throw new IllegalArgumentException("Modular determinant requires integer entries");
+                }
+                return Determinants.modular(this.matrix, ForkJoinPool.commonPool());
+            default:
+                if (Determinants.isInteger(this.matrix)) {
+                    return Determinants.modular(this.matrix, ForkJoinPool.commonPool());
+                }
+                if (this.matrix.length >= Determinants.BAREISS_THRESHOLD) {
+                    Matrix2D simplified = simplified();
+                    return Determinants.isExactPolynomial(simplified.matrix) ? Determinants.bareiss(simplified.matrix)
+                            : MinorExpansion.of(simplified).determinant();
+                }
+                return this.determinant();
+        }
+    }
+
+    // entries such as 1/2 only become polynomial constants once simplified
+    private Matrix2D simplified() {
+        return Determinants.isPolynomial(this.matrix) ? this : simplify();
     }
 
     private Expression determinant() {
-        Expression result = Constant.ZERO;
+        Polynomial.Builder result = Polynomial.builder();
         int idx = 0;
         for (int jdx = 0; jdx < this.matrix.length; jdx++) {
             Expression a = this.matrix[idx][jdx];
             Expression C = this.cofactor(idx, jdx);
-            result = result.plus(a.times(C));
+            result.add(a.times(C));
         }
-        return result;
+        return result.build();
     }
 
     private Expression cofactor(int i, int j) {
@@ -179,7 +243,7 @@ public final class Matrix2D {
                 midx++;
             }
         }
-        return new Matrix2D(matrix).det();
+        return new Matrix2D(matrix).determinant();
     }
 
     private void check(Matrix2D o) {
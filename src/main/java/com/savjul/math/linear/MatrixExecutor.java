@@ -0,0 +1,125 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.transformers.ParallelLoop;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the entry-wise operations of {@link Matrix2D} and {@link Vector} with the output entries partitioned across
+ * a fork-join pool. Entries are independent and immutable, and each one is computed exactly as the sequential
+ * method computes it, so results are identical. {@link #timesSimplified} simplifies every entry of a product in
+ * the task that builds it, so the unsimplified sums of the whole product never exist at once.
+ */
+public final class MatrixExecutor {
+    // below this many output entries an operation runs on the calling thread even in parallel mode
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+
+    private static final MatrixExecutor SEQUENTIAL = new MatrixExecutor(null, DEFAULT_PARALLEL_THRESHOLD);
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    public static Builder get() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private ForkJoinPool pool;
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+        private Builder() {
+        }
+
+        public Builder parallel() {
+            return parallel(ForkJoinPool.commonPool());
+        }
+
+        public Builder parallel(ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool);
+            return this;
+        }
+
+        public Builder parallelThreshold(int parallelThreshold) {
+            if (parallelThreshold < 2) {
+                throw new IllegalArgumentException("Parallel threshold must be at least 2: " + parallelThreshold);
+            }
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        public MatrixExecutor build() {
+            return pool == null ? SEQUENTIAL : new MatrixExecutor(pool, parallelThreshold);
+        }
+    }
+
+    private MatrixExecutor(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public Matrix2D times(Matrix2D a, Matrix2D b) {
+        return product(a, b, false);
+    }
+
+    // a.times(b).simplify()
+    public Matrix2D timesSimplified(Matrix2D a, Matrix2D b) {
+        return product(a, b, true);
+    }
+
+    private Matrix2D product(Matrix2D a, Matrix2D b, boolean simplify) {
+        int rows = a.rows();
+        int columns = b.columns();
+        Expression[][] result = new Expression[rows][columns];
+        forEach(rows * columns, idx -> {
+            Expression value = a.product(b, idx / columns, idx % columns);
+            result[idx / columns][idx % columns] = simplify ? value.simplify() : value;
+        });
+        return Matrix2D.wrap(result);
+    }
+
+    public Matrix2D plus(Matrix2D a, Matrix2D b) {
+        if (a.rows() != b.rows() || a.columns() != b.columns()) {
+            throw new RuntimeException("Matrixes must be same size");
+        }
+        int columns = a.columns();
+        Expression[][] result = new Expression[a.rows()][columns];
+        forEach(a.rows() * columns, idx -> {
+            int i = idx / columns, j = idx % columns;
+            result[i][j] = a.get(i, j).plus(b.get(i, j));
+        });
+        return Matrix2D.wrap(result);
+    }
+
+    public Matrix2D apply(Matrix2D matrix, Function<Expression, Expression> mapping) {
+        int columns = matrix.columns();
+        Expression[][] result = new Expression[matrix.rows()][columns];
+        forEach(matrix.rows() * columns, idx -> {
+            int i = idx / columns, j = idx % columns;
+            result[i][j] = matrix.get(i, j).apply(mapping);
+        });
+        return Matrix2D.wrap(result);
+    }
+
+    public Matrix2D simplify(Matrix2D matrix) {
+        return matrix.isSimplified() ? matrix : apply(matrix, Expression::simplify);
+    }
+
+    public Vector apply(Vector vector, Function<Expression, Expression> mapping) {
+        Expression[] result = new Expression[vector.size()];
+        forEach(result.length, idx -> result[idx] = vector.get(idx).apply(mapping));
+        return Vector.wrap(result);
+    }
+
+    public Vector simplify(Vector vector) {
+        return vector.isSimplified() ? vector : apply(vector, Expression::simplify);
+    }
+
+    // runs body for 0..n-1, on the pool when parallel mode is on and n reaches the threshold
+    private void forEach(int n, IntConsumer body) {
+        ParallelLoop.forEach(pool, n, parallelThreshold, body);
+    }
+}
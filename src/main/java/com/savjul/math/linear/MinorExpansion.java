@@ -0,0 +1,164 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.transformers.ParallelLoop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Division-free determinant by Laplace expansion with memoized minors. The minor on the bottom r rows and a
+ * column subset S is keyed by (r, bitmask of S) and computed once from the minors on r - 1 rows, so an n by n
+ * matrix costs O(n * 2^n) products instead of O(n!). Only the previous row count is kept alive; with a pool,
+ * all subsets of the same size are expanded in parallel.
+ */
+public final class MinorExpansion {
+    // column subsets are int bitmasks, and 2^30 minors is far beyond what fits in memory anyway
+    public static final int MAX_SIZE = 30;
+
+    private final Matrix2D matrix;
+    private final ForkJoinPool pool;
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private volatile long peakSize;
+
+    private MinorExpansion(Matrix2D matrix, ForkJoinPool pool) {
+        if (matrix.rows() != matrix.columns()) {
+            throw new IllegalArgumentException("Square matrix required for this operation");
+        }
+        if (matrix.rows() > MAX_SIZE) {
+            throw new IllegalArgumentException("Minor expansion supports at most " + MAX_SIZE + " rows: " + matrix.rows());
+        }
+        this.matrix = matrix;
+        this.pool = pool;
+    }
+
+    public static MinorExpansion of(Matrix2D matrix) {
+        return new MinorExpansion(matrix, null);
+    }
+
+    public static MinorExpansion parallel(Matrix2D matrix) {
+        return parallel(matrix, ForkJoinPool.commonPool());
+    }
+
+    public static MinorExpansion parallel(Matrix2D matrix, ForkJoinPool pool) {
+        return new MinorExpansion(matrix, pool);
+    }
+
+    public Expression determinant() {
+        int n = matrix.rows();
+        if (n == 0) {
+            return Constant.ONE;
+        }
+        Map<Integer, Expression> previous = new HashMap<>();
+        for (int jdx = 0; jdx < n; jdx++) {
+            previous.put(1 << jdx, matrix.get(n - 1, jdx).simplify());
+        }
+        computed.add(n);
+        updatePeak(n);
+        for (int rows = 2; rows <= n; rows++) {
+            int[] masks = subsets(n, rows);
+            Expression[] minors = new Expression[masks.length];
+            Map<Integer, Expression> smaller = previous;
+            int row = n - rows;
+            ParallelLoop.forEach(pool, masks.length, 2, idx -> minors[idx] = expand(row, masks[idx], smaller));
+            Map<Integer, Expression> current = new HashMap<>(masks.length * 2);
+            for (int idx = 0; idx < masks.length; idx++) {
+                current.put(masks[idx], minors[idx]);
+            }
+            computed.add(masks.length);
+            updatePeak(previous.size() + current.size());
+            previous = current;
+        }
+        return previous.get((1 << n) - 1);
+    }
+
+    public Statistics statistics() {
+        return new Statistics(computed.sum(), lookups.sum(), peakSize);
+    }
+
+    // first row of the minor is the given matrix row; signs alternate over the columns in the subset
+    private Expression expand(int row, int mask, Map<Integer, Expression> smaller) {
+        Polynomial.Builder result = Polynomial.builder();
+        boolean negate = false;
+        for (int rest = mask; rest != 0; rest &= rest - 1) {
+            int column = Integer.numberOfTrailingZeros(rest);
+            Expression a = matrix.get(row, column);
+            if (!isZero(a)) {
+                Expression minor = smaller.get(mask & ~(1 << column));
+                lookups.increment();
+                if (!isZero(minor)) {
+                    Expression product = a.times(minor);
+                    result.add(negate ? product.times(Constant.MINUS_ONE) : product);
+                }
+            }
+            negate = !negate;
+        }
+        return result.build().simplify();
+    }
+
+    private static boolean isZero(Expression expression) {
+        return expression instanceof Constant && ((Constant<?>) expression).isZero();
+    }
+
+    private void updatePeak(long size) {
+        peakSize = Math.max(peakSize, size);
+    }
+
+    // all bitmasks over n columns with exactly k bits set, in increasing order (Gosper's hack)
+    private static int[] subsets(int n, int k) {
+        int[] result = new int[binomial(n, k)];
+        int mask = (1 << k) - 1;
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = mask;
+            int low = mask & -mask;
+            int ripple = mask + low;
+            mask = (((ripple ^ mask) >>> 2) / low) | ripple;
+        }
+        return result;
+    }
+
+    private static int binomial(int n, int k) {
+        long result = 1;
+        for (int idx = 1; idx <= k; idx++) {
+            result = result * (n - k + idx) / idx;
+        }
+        return Math.toIntExact(result);
+    }
+
+    public static final class Statistics {
+        private final long computed;
+        private final long lookups;
+        private final long peakSize;
+
+        private Statistics(long computed, long lookups, long peakSize) {
+            this.computed = computed;
+            this.lookups = lookups;
+            this.peakSize = peakSize;
+        }
+
+        // distinct minors evaluated, including the 1 by 1 minors of the last row
+        public long getComputed() {
+            return computed;
+        }
+
+        // reads of a memoized smaller minor; each is a recomputation that cofactor expansion would have done
+        public long getLookups() {
+            return lookups;
+        }
+
+        // most minors held at once, across two adjacent row counts
+        public long getPeakSize() {
+            return peakSize;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("computed=%d, lookups=%d, peakSize=%d", computed, lookups, peakSize);
+        }
+    }
+}
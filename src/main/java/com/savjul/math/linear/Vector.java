@@ -1,6 +1,7 @@
 package com.savjul.math.linear;
 
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
 import com.savjul.math.expression.simple.Constant;
 
 import java.util.Arrays;
@@ -24,6 +25,11 @@ public final class Vector {
         return values;
     }
 
+    // takes ownership of the array
+    static Vector wrap(Expression[] values) {
+        return new Vector(values);
+    }
+
     public static Vector of(Expression... values) {
         return new Vector(Arrays.copyOf(values, values.length));
     }
@@ -37,7 +43,14 @@ public final class Vector {
     }
 
     public Vector simplify() {
-        return apply(Expression::simplify);
+        return isSimplified() ? this : apply(Expression::simplify);
+    }
+
+    boolean isSimplified() {
+        for (Expression value : this.values) {
+            if (!value.isSimplified()) return false;
+        }
+        return true;
     }
 
     public Vector plus(Vector o) {
@@ -59,11 +72,11 @@ public final class Vector {
 
     public Expression dot(Vector o) {
         check(o);
-        Expression result = Constant.ZERO;
+        Polynomial.Builder result = Polynomial.builder();
         for (int idx = 0; idx < this.values.length; idx++) {
-            result = result.plus(this.values[idx].times(o.values[idx]));
+            result.add(this.values[idx].times(o.values[idx]));
         }
-        return result;
+        return result.build();
     }
 
     public Vector cross(Vector o) {
@@ -82,11 +95,11 @@ public final class Vector {
         return i3.plus(j3).plus(k3);
     }
 
-    private int size() {
+    public int size() {
         return this.values.length;
     }
 
-    private Expression get(int idx) {
+    public Expression get(int idx) {
         return this.values[idx];
     }
 
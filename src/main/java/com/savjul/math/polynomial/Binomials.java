@@ -0,0 +1,57 @@
+package com.savjul.math.polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+// rows of Pascal's triangle, grown on demand and shared
+public final class Binomials {
+    private static final List<BigInteger[]> ROWS = new ArrayList<>();
+
+    static {
+        ROWS.add(new BigInteger[] { BigInteger.ONE });
+    }
+
+    public static BigInteger binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return BigInteger.ZERO;
+        }
+        return row(n)[Math.min(k, n - k)];
+    }
+
+    // n! / (k[0]! k[1]! ... k[m-1]!) where n is the sum of k
+    public static BigInteger multinomial(int[] k) {
+        BigInteger result = BigInteger.ONE;
+        int sum = 0;
+        for (int part : k) {
+            sum += part;
+            if (part != 0 && part != sum) {
+                result = result.multiply(binomial(sum, part));
+            }
+        }
+        return result;
+    }
+
+    // only the first half of each row is kept since rows are symmetric
+    private static BigInteger[] row(int n) {
+        synchronized (ROWS) {
+            while (ROWS.size() <= n) {
+                int m = ROWS.size();
+                BigInteger[] previous = ROWS.get(m - 1);
+                BigInteger[] next = new BigInteger[m / 2 + 1];
+                next[0] = BigInteger.ONE;
+                for (int k = 1; k < next.length; k++) {
+                    next[k] = half(previous, m - 1, k - 1).add(half(previous, m - 1, k));
+                }
+                ROWS.add(next);
+            }
+            return ROWS.get(n);
+        }
+    }
+
+    private static BigInteger half(BigInteger[] row, int n, int k) {
+        return k > n ? BigInteger.ZERO : row[Math.min(k, n - k)];
+    }
+
+    private Binomials() {}
+}
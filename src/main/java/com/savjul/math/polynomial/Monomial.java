@@ -0,0 +1,135 @@
+package com.savjul.math.polynomial;
+
+import java.util.Arrays;
+
+// product of variables as packed (variable index, exponent) pairs sorted by variable index
+final class Monomial implements Comparable<Monomial> {
+    static final Monomial ONE = new Monomial(new int[0]);
+
+    private final int[] powers;
+    private final int hash;
+
+    private Monomial(int[] powers) {
+        this.powers = powers;
+        this.hash = Arrays.hashCode(powers);
+    }
+
+    static Monomial of(int variable, int exponent) {
+        return exponent == 0 ? ONE : new Monomial(new int[] { variable, exponent });
+    }
+
+    int size() {
+        return powers.length / 2;
+    }
+
+    int variable(int idx) {
+        return powers[2 * idx];
+    }
+
+    int exponent(int idx) {
+        return powers[2 * idx + 1];
+    }
+
+    int degree() {
+        int degree = 0;
+        for (int idx = 1; idx < powers.length; idx += 2) {
+            degree += powers[idx];
+        }
+        return degree;
+    }
+
+    int degree(int variable) {
+        for (int idx = 0; idx < powers.length; idx += 2) {
+            if (powers[idx] == variable) {
+                return powers[idx + 1];
+            }
+        }
+        return 0;
+    }
+
+    Monomial times(Monomial o) {
+        if (o.powers.length == 0) return this;
+        if (powers.length == 0) return o;
+        int[] result = new int[powers.length + o.powers.length];
+        int i = 0, j = 0, k = 0;
+        while (i < powers.length || j < o.powers.length) {
+            if (j == o.powers.length || (i < powers.length && powers[i] < o.powers[j])) {
+                result[k++] = powers[i++];
+                result[k++] = powers[i++];
+            }
+            else if (i == powers.length || o.powers[j] < powers[i]) {
+                result[k++] = o.powers[j++];
+                result[k++] = o.powers[j++];
+            }
+            else {
+                result[k++] = powers[i];
+                result[k++] = Math.addExact(powers[i + 1], o.powers[j + 1]);
+                i += 2;
+                j += 2;
+            }
+        }
+        return new Monomial(k == result.length ? result : Arrays.copyOf(result, k));
+    }
+
+    // null when o does not divide this monomial
+    Monomial divide(Monomial o) {
+        int[] result = new int[powers.length];
+        int i = 0, j = 0, k = 0;
+        while (i < powers.length) {
+            if (j < o.powers.length && o.powers[j] < powers[i]) {
+                return null;
+            }
+            if (j < o.powers.length && o.powers[j] == powers[i]) {
+                int exponent = powers[i + 1] - o.powers[j + 1];
+                if (exponent < 0) {
+                    return null;
+                }
+                if (exponent > 0) {
+                    result[k++] = powers[i];
+                    result[k++] = exponent;
+                }
+                j += 2;
+            }
+            else {
+                result[k++] = powers[i];
+                result[k++] = powers[i + 1];
+            }
+            i += 2;
+        }
+        if (j < o.powers.length) {
+            return null;
+        }
+        return new Monomial(k == result.length ? result : Arrays.copyOf(result, k));
+    }
+
+    // lexicographic order on exponent vectors, lower variable indices being more significant
+    @Override
+    public int compareTo(Monomial o) {
+        int i = 0, j = 0;
+        while (i < powers.length || j < o.powers.length) {
+            int vi = i < powers.length ? powers[i] : Integer.MAX_VALUE;
+            int vj = j < o.powers.length ? o.powers[j] : Integer.MAX_VALUE;
+            int ei = vi <= vj ? powers[i + 1] : 0;
+            int ej = vj <= vi ? o.powers[j + 1] : 0;
+            if (ei != ej) {
+                return Integer.compare(ei, ej);
+            }
+            if (vi <= vj) i += 2;
+            if (vj <= vi) j += 2;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Monomial monomial = (Monomial) o;
+        return hash == monomial.hash && Arrays.equals(powers, monomial.powers);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
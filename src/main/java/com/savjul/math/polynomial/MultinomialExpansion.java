@@ -0,0 +1,244 @@
+package com.savjul.math.polynomial;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Exponent;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.transformers.ConstantFolding;
+import com.savjul.math.transformers.ExpressionSimplifier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Expands {@code (t1 + ... + tm)^n} term by term with the multinomial theorem: one output term per composition
+ * {@code k1 + ... + km = n}, with coefficient {@code n! / (k1! ... km!)} read from {@link Binomials}. No intermediate
+ * powers of the base are ever built.
+ */
+public final class MultinomialExpansion {
+    private final List<Expression> terms;
+    private final int power;
+    private final boolean sparse;
+    // every term is a single monomial, so each composition yields exactly one output term
+    private final boolean monomial;
+
+    private MultinomialExpansion(List<Expression> terms, int power) {
+        if (power < 0) {
+            throw new IllegalArgumentException("Negative power " + power);
+        }
+        this.terms = flatten(terms, new ArrayList<>());
+        this.power = power;
+        boolean sparse = true;
+        boolean monomial = true;
+        for (Expression term : this.terms) {
+            boolean polynomial = SparsePolynomial.isPolynomial(term);
+            sparse &= polynomial;
+            monomial &= polynomial && SparsePolynomial.of(term).getTermCount() <= 1;
+        }
+        this.sparse = sparse;
+        this.monomial = monomial;
+    }
+
+    public static MultinomialExpansion of(Polynomial base, int power) {
+        return new MultinomialExpansion(base.getTerms(), power);
+    }
+
+    public static MultinomialExpansion of(List<Expression> terms, int power) {
+        return new MultinomialExpansion(terms, power);
+    }
+
+    private static List<Expression> flatten(List<Expression> terms, List<Expression> result) {
+        for (Expression term : terms) {
+            if (term instanceof Polynomial) {
+                flatten(((Polynomial) term).getTerms(), result);
+            }
+            else {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+
+    // number of generated terms before like terms are collected, C(n + m - 1, m - 1)
+    public long getTermCount() {
+        return terms.isEmpty() ? (power == 0 ? 1 : 0) : Binomials.binomial(power + terms.size() - 1, terms.size() - 1).longValueExact();
+    }
+
+    public boolean isPolynomial() {
+        return sparse;
+    }
+
+    // terms are generated lazily, each one simplified on its own; like terms are not collected
+    public Stream<Expression> stream() {
+        Iterator<Expression> iterator;
+        if (monomial) {
+            Powers powers = new Powers();
+            iterator = new Compositions<Expression>() {
+                @Override
+                Expression term(int[] k) {
+                    return SparsePolynomial.of(powers.term(k)).toExpression();
+                }
+            };
+        }
+        else if (sparse) {
+            SparsePolynomial[][] powers = new SparsePolynomial[terms.size()][power + 1];
+            iterator = new Compositions<Expression>() {
+                @Override
+                Expression term(int[] k) {
+                    SparsePolynomial result = SparsePolynomial.constant(Constant.of(Binomials.multinomial(k)));
+                    for (int idx = 0; idx < k.length; idx++) {
+                        if (powers[idx][k[idx]] == null) {
+                            powers[idx][k[idx]] = SparsePolynomial.of(terms.get(idx)).pow(k[idx]);
+                        }
+                        result = result.times(powers[idx][k[idx]]);
+                    }
+                    return result.toExpression();
+                }
+            };
+        }
+        else {
+            iterator = new Compositions<Expression>() {
+                @Override
+                Expression term(int[] k) {
+                    return ExpressionSimplifier.instance().apply(generic(k));
+                }
+            };
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    public SparsePolynomial toSparse() {
+        if (!sparse) {
+            throw new IllegalArgumentException("Base is not a polynomial: " + terms);
+        }
+        if (!monomial) {
+            // a term such as x(y + 1) has several monomials; plain repeated squaring is exact and simpler
+            return SparsePolynomial.of(Polynomial.of(terms)).pow(power);
+        }
+        Powers powers = new Powers();
+        Map<Monomial, Constant<?>> result = new HashMap<>();
+        Compositions<Map<Monomial, Constant<?>>> compositions = new Compositions<Map<Monomial, Constant<?>>>() {
+            @Override
+            Map<Monomial, Constant<?>> term(int[] k) {
+                return powers.term(k);
+            }
+        };
+        while (compositions.hasNext()) {
+            for (Map.Entry<Monomial, Constant<?>> term : compositions.next().entrySet()) {
+                result.merge(term.getKey(), term.getValue(), ConstantFolding::add);
+            }
+        }
+        return SparsePolynomial.of(result);
+    }
+
+    public Expression expand() {
+        if (sparse) {
+            return toSparse().toExpression();
+        }
+        List<Expression> result = new ArrayList<>();
+        stream().forEach(result::add);
+        return ExpressionSimplifier.instance().apply(Polynomial.of(result));
+    }
+
+    private Expression generic(int[] k) {
+        List<Expression> factors = new ArrayList<>(terms.size() + 1);
+        factors.add(Constant.of(Binomials.multinomial(k)));
+        for (int idx = 0; idx < k.length; idx++) {
+            if (k[idx] == 1) {
+                factors.add(terms.get(idx));
+            }
+            else if (k[idx] > 1) {
+                factors.add(Exponent.of(terms.get(idx), Constant.of(k[idx])));
+            }
+        }
+        return Term.of(factors);
+    }
+
+    // table of each single-monomial base term raised to 0..n, as (monomial, coefficient) pairs
+    private final class Powers {
+        private final Monomial[][] monomials = new Monomial[terms.size()][power + 1];
+        private final Constant<?>[][] coefficients = new Constant<?>[terms.size()][power + 1];
+
+        private Powers() {
+            for (int idx = 0; idx < terms.size(); idx++) {
+                Map<Monomial, Constant<?>> single = SparsePolynomial.of(terms.get(idx)).terms();
+                Monomial monomial = single.isEmpty() ? Monomial.ONE : single.keySet().iterator().next();
+                Constant<?> coefficient = single.isEmpty() ? Constant.ZERO : single.values().iterator().next();
+                monomials[idx][0] = Monomial.ONE;
+                coefficients[idx][0] = Constant.ONE;
+                for (int p = 1; p <= power; p++) {
+                    monomials[idx][p] = monomials[idx][p - 1].times(monomial);
+                    coefficients[idx][p] = ConstantFolding.multiply(coefficients[idx][p - 1], coefficient);
+                }
+            }
+        }
+
+        private Map<Monomial, Constant<?>> term(int[] k) {
+            Monomial monomial = Monomial.ONE;
+            Constant<?> coefficient = Constant.of(Binomials.multinomial(k));
+            for (int idx = 0; idx < k.length; idx++) {
+                monomial = monomial.times(monomials[idx][k[idx]]);
+                coefficient = ConstantFolding.multiply(coefficient, coefficients[idx][k[idx]]);
+            }
+            Map<Monomial, Constant<?>> result = new HashMap<>(2);
+            result.put(monomial, coefficient);
+            return result;
+        }
+    }
+
+    // walks the compositions of power into terms.size() parts in reverse lexicographic order
+    private abstract class Compositions<T> implements Iterator<T> {
+        private final int[] k = new int[terms.size()];
+        private boolean hasNext;
+
+        private Compositions() {
+            if (k.length == 0) {
+                hasNext = false;
+            }
+            else {
+                k[0] = power;
+                hasNext = true;
+            }
+        }
+
+        abstract T term(int[] k);
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            T result = term(k);
+            int m = k.length;
+            int j = m - 2;
+            while (j >= 0 && k[j] == 0) {
+                j--;
+            }
+            if (j < 0) {
+                hasNext = false;
+            }
+            else {
+                int tail = k[m - 1];
+                k[m - 1] = 0;
+                k[j]--;
+                k[j + 1] = tail + 1;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.savjul.math.polynomial;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Exponent;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.simple.BigRational;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.BasicComparison;
+import com.savjul.math.transformers.ConstantFolding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Multivariate polynomial with numeric coefficients, stored as a hash map from monomials to coefficients.
+ * Monomials are packed (variable index, exponent) pairs, so arithmetic never builds intermediate expression trees.
+ * Conversion back produces the same canonical form the simplifier does.
+ */
+public final class SparsePolynomial {
+    public static final SparsePolynomial ZERO = new SparsePolynomial(Collections.emptyMap());
+    public static final SparsePolynomial ONE = constant(Constant.ONE);
+
+    private final Map<Monomial, Constant<?>> terms;
+
+    private SparsePolynomial(Map<Monomial, Constant<?>> terms) {
+        this.terms = terms;
+    }
+
+    public static SparsePolynomial constant(Constant<?> value) {
+        return value.isZero() ? ZERO : new SparsePolynomial(Collections.singletonMap(Monomial.ONE, value));
+    }
+
+    public static SparsePolynomial variable(Variable variable) {
+        return new SparsePolynomial(Collections.singletonMap(Monomial.of(variable.getIndex(), 1), Constant.ONE));
+    }
+
+    // variables, numeric constants, and sums and products of them, raised to non-negative integers
+    public static boolean isPolynomial(Expression expression) {
+        if (expression instanceof Variable) {
+            return true;
+        }
+        else if (expression instanceof Constant) {
+            return !(expression instanceof Transcendental);
+        }
+        else if (expression instanceof Term) {
+            return allPolynomial(((Term) expression).getFactors());
+        }
+        else if (expression instanceof Polynomial) {
+            return allPolynomial(((Polynomial) expression).getTerms());
+        }
+        else if (expression instanceof Exponent) {
+            return exponent(((Exponent) expression).getPower()) >= 0 && isPolynomial(((Exponent) expression).getBase());
+        }
+        return false;
+    }
+
+    public static SparsePolynomial of(Expression expression) {
+        if (expression instanceof Variable) {
+            return variable((Variable) expression);
+        }
+        else if (expression instanceof Constant && !(expression instanceof Transcendental)) {
+            return constant((Constant<?>) expression);
+        }
+        else if (expression instanceof Term) {
+            SparsePolynomial result = ONE;
+            for (Expression factor : ((Term) expression).getFactors()) {
+                result = result.times(of(factor));
+            }
+            return result;
+        }
+        else if (expression instanceof Polynomial) {
+            Map<Monomial, Constant<?>> result = new HashMap<>();
+            for (Expression term : ((Polynomial) expression).getTerms()) {
+                accumulate(result, of(term).terms, Monomial.ONE, Constant.ONE);
+            }
+            return of(result);
+        }
+        else if (expression instanceof Exponent) {
+            Expression base = ((Exponent) expression).getBase();
+            int exponent = exponent(((Exponent) expression).getPower());
+            if (exponent >= 0 && base instanceof Variable) {
+                return new SparsePolynomial(Collections.singletonMap(Monomial.of(((Variable) base).getIndex(), exponent), Constant.ONE));
+            }
+            else if (exponent >= 0 && base instanceof Polynomial && isPolynomial(base)) {
+                return MultinomialExpansion.of((Polynomial) base, exponent).toSparse();
+            }
+            else if (exponent >= 0 && isPolynomial(base)) {
+                return of(base).pow(exponent);
+            }
+        }
+        throw new IllegalArgumentException("Not a polynomial: " + expression);
+    }
+
+    static SparsePolynomial of(Map<Monomial, Constant<?>> terms) {
+        terms.values().removeIf(Constant::isZero);
+        return terms.isEmpty() ? ZERO : new SparsePolynomial(terms);
+    }
+
+    Map<Monomial, Constant<?>> terms() {
+        return terms;
+    }
+
+    private static boolean allPolynomial(List<Expression> expressions) {
+        for (int idx = 0; idx < expressions.size(); idx++) {
+            if (!isPolynomial(expressions.get(idx))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int exponent(Expression power) {
+        if (power instanceof Constant) {
+            Constant<?> constant = (Constant<?>) power;
+            if (constant.getType() == Constant.Type.INT) {
+                return constant.intValue();
+            }
+            if (constant.getType() == Constant.Type.LONG && constant.longValue() == (int) constant.longValue()) {
+                return constant.intValue();
+            }
+        }
+        return -1;
+    }
+
+    private static void accumulate(Map<Monomial, Constant<?>> result, Map<Monomial, Constant<?>> terms,
+                                   Monomial monomial, Constant<?> coefficient) {
+        for (Map.Entry<Monomial, Constant<?>> term : terms.entrySet()) {
+            Constant<?> value = coefficient.isOne() ? term.getValue() : ConstantFolding.multiply(coefficient, term.getValue());
+            result.merge(monomial.times(term.getKey()), value, ConstantFolding::add);
+        }
+    }
+
+    public boolean isZero() {
+        return terms.isEmpty();
+    }
+
+    public boolean isConstant() {
+        return terms.isEmpty() || (terms.size() == 1 && terms.containsKey(Monomial.ONE));
+    }
+
+    public int getTermCount() {
+        return terms.size();
+    }
+
+    public int getDegree() {
+        int degree = terms.isEmpty() ? -1 : 0;
+        for (Monomial monomial : terms.keySet()) {
+            degree = Math.max(degree, monomial.degree());
+        }
+        return degree;
+    }
+
+    public int getDegree(Variable variable) {
+        int degree = terms.isEmpty() ? -1 : 0;
+        for (Monomial monomial : terms.keySet()) {
+            degree = Math.max(degree, monomial.degree(variable.getIndex()));
+        }
+        return degree;
+    }
+
+    public List<Variable> getVariables() {
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (Monomial monomial : terms.keySet()) {
+            for (int idx = 0; idx < monomial.size(); idx++) {
+                indices.add(monomial.variable(idx));
+            }
+        }
+        List<Variable> result = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            result.add((Variable) Variable.of(Variable.getName(index)));
+        }
+        return result;
+    }
+
+    // false when some coefficient is a double, so exact division can't be relied on
+    public boolean isExact() {
+        for (Constant<?> coefficient : terms.values()) {
+            if (!coefficient.isExact()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Constant<?> getConstantTerm() {
+        return terms.getOrDefault(Monomial.ONE, Constant.ZERO);
+    }
+
+    // folding never narrows a coefficient's type, so values that passed through large intermediates stay wide
+    public SparsePolynomial narrow() {
+        Map<Monomial, Constant<?>> result = new HashMap<>(terms.size() * 2);
+        for (Map.Entry<Monomial, Constant<?>> term : terms.entrySet()) {
+            Constant<?> value = term.getValue();
+            result.put(term.getKey(), value.isExact() ? Constant.of(value.bigRationalValue()) : value);
+        }
+        return of(result);
+    }
+
+    // exact value at the given point; every variable needs a value and every coefficient must be exact
+    public BigRational evaluate(Map<Variable, BigRational> point) {
+        Map<Integer, BigRational> values = new HashMap<>(point.size() * 2);
+        for (Map.Entry<Variable, BigRational> value : point.entrySet()) {
+            values.put(value.getKey().getIndex(), value.getValue());
+        }
+        BigRational result = BigRational.ZERO;
+        for (Map.Entry<Monomial, Constant<?>> term : terms.entrySet()) {
+            if (!term.getValue().isExact()) {
+                throw new IllegalArgumentException("Inexact coefficient " + term.getValue());
+            }
+            BigRational value = term.getValue().bigRationalValue();
+            Monomial monomial = term.getKey();
+            for (int idx = 0; idx < monomial.size(); idx++) {
+                BigRational base = values.get(monomial.variable(idx));
+                if (base == null) {
+                    throw new IllegalArgumentException("No value for " + Variable.getName(monomial.variable(idx)));
+                }
+                value = value.multiply(base.pow(monomial.exponent(idx)));
+            }
+            result = result.add(value);
+        }
+        return result;
+    }
+
+    public SparsePolynomial plus(SparsePolynomial o) {
+        if (isZero()) return o;
+        if (o.isZero()) return this;
+        Map<Monomial, Constant<?>> result = new HashMap<>(terms);
+        for (Map.Entry<Monomial, Constant<?>> term : o.terms.entrySet()) {
+            result.merge(term.getKey(), term.getValue(), ConstantFolding::add);
+        }
+        return of(result);
+    }
+
+    public SparsePolynomial negate() {
+        return times(Constant.MINUS_ONE);
+    }
+
+    public SparsePolynomial minus(SparsePolynomial o) {
+        return plus(o.negate());
+    }
+
+    public SparsePolynomial times(Constant<?> scalar) {
+        if (scalar.isZero()) return ZERO;
+        if (scalar.isOne()) return this;
+        Map<Monomial, Constant<?>> result = new HashMap<>(terms.size() * 2);
+        for (Map.Entry<Monomial, Constant<?>> term : terms.entrySet()) {
+            result.put(term.getKey(), ConstantFolding.multiply(term.getValue(), scalar));
+        }
+        return of(result);
+    }
+
+    public SparsePolynomial times(SparsePolynomial o) {
+        if (isZero() || o.isZero()) return ZERO;
+        if (terms.size() < o.terms.size()) {
+            return o.times(this);
+        }
+        if (o.terms.size() >= DensePolynomial.KARATSUBA_THRESHOLD) {
+            Variable variable = univariate(o);
+            if (variable != null && DensePolynomial.isDensePolynomial(this, variable)
+                    && DensePolynomial.isDensePolynomial(o, variable)) {
+                return DensePolynomial.of(this, variable).times(DensePolynomial.of(o, variable)).toSparse(variable);
+            }
+        }
+        Map<Monomial, Constant<?>> result = new HashMap<>(Math.max(16, terms.size() * o.terms.size() * 4 / 3));
+        for (Map.Entry<Monomial, Constant<?>> term : o.terms.entrySet()) {
+            accumulate(result, terms, term.getKey(), term.getValue());
+        }
+        return of(result);
+    }
+
+    // the single variable shared by both polynomials, if there is one
+    private Variable univariate(SparsePolynomial o) {
+        int index = -1;
+        for (Map<Monomial, Constant<?>> map : Arrays.asList(terms, o.terms)) {
+            for (Monomial monomial : map.keySet()) {
+                if (monomial.size() > 1 || (monomial.size() == 1 && index >= 0 && monomial.variable(0) != index)) {
+                    return null;
+                }
+                if (monomial.size() == 1) {
+                    index = monomial.variable(0);
+                }
+            }
+        }
+        return index < 0 ? null : (Variable) Variable.of(Variable.getName(index));
+    }
+
+    public SparsePolynomial pow(int exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Negative exponent " + exponent);
+        }
+        SparsePolynomial result = ONE;
+        SparsePolynomial base = this;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = result.times(base);
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                base = base.times(base);
+            }
+        }
+        return result;
+    }
+
+    // multivariate division in lex order; throws when the divisor leaves a remainder
+    public SparsePolynomial divideExact(SparsePolynomial divisor) {
+        if (divisor.isZero()) {
+            throw new ArithmeticException("Division by zero polynomial");
+        }
+        Map.Entry<Monomial, Constant<?>> lead = divisor.leadingTerm();
+        TreeMap<Monomial, Constant<?>> remainder = new TreeMap<>(Collections.reverseOrder());
+        remainder.putAll(terms);
+        Map<Monomial, Constant<?>> quotient = new HashMap<>();
+        while (!remainder.isEmpty()) {
+            Map.Entry<Monomial, Constant<?>> top = remainder.firstEntry();
+            Monomial monomial = top.getKey().divide(lead.getKey());
+            if (monomial == null) {
+                throw new ArithmeticException("Polynomial division is not exact");
+            }
+            Constant<?> coefficient = ConstantFolding.divide(top.getValue(), lead.getValue());
+            quotient.put(monomial, coefficient);
+            Constant<?> negated = ConstantFolding.multiply(coefficient, Constant.MINUS_ONE);
+            for (Map.Entry<Monomial, Constant<?>> term : divisor.terms.entrySet()) {
+                Monomial key = monomial.times(term.getKey());
+                Constant<?> value = ConstantFolding.multiply(negated, term.getValue());
+                Constant<?> sum = remainder.containsKey(key) ? ConstantFolding.add(remainder.get(key), value) : value;
+                if (sum.isZero()) {
+                    remainder.remove(key);
+                }
+                else {
+                    remainder.put(key, sum);
+                }
+            }
+            // an inexact float coefficient can leave the leading term behind instead of cancelling it
+            remainder.remove(top.getKey());
+        }
+        return of(quotient);
+    }
+
+    private Map.Entry<Monomial, Constant<?>> leadingTerm() {
+        Map.Entry<Monomial, Constant<?>> lead = null;
+        for (Map.Entry<Monomial, Constant<?>> term : terms.entrySet()) {
+            if (lead == null || term.getKey().compareTo(lead.getKey()) > 0) {
+                lead = term;
+            }
+        }
+        return lead;
+    }
+
+    public Expression toExpression() {
+        if (terms.isEmpty()) {
+            return Constant.ZERO;
+        }
+        List<Expression> result = new ArrayList<>(terms.size());
+        for (Map.Entry<Monomial, Constant<?>> term : terms.entrySet()) {
+            result.add(toExpression(term.getKey(), term.getValue()));
+        }
+        if (result.size() == 1) {
+            return result.get(0);
+        }
+        result.sort(BasicComparison.terms());
+        return Polynomial.of(result);
+    }
+
+    private static Expression toExpression(Monomial monomial, Constant<?> coefficient) {
+        if (monomial.size() == 0) {
+            return coefficient;
+        }
+        List<Expression> factors = new ArrayList<>(monomial.size() + 1);
+        if (!coefficient.isOne()) {
+            factors.add(coefficient);
+        }
+        for (int idx = 0; idx < monomial.size(); idx++) {
+            Expression variable = Variable.of(Variable.getName(monomial.variable(idx)));
+            int exponent = monomial.exponent(idx);
+            factors.add(exponent == 1 ? variable : Exponent.of(variable, Constant.of(exponent)));
+        }
+        if (factors.size() == 1) {
+            return factors.get(0);
+        }
+        factors.sort(BasicComparison.factors());
+        return Term.of(factors);
+    }
+
+    @Override
+    public String toString() {
+        return toExpression().toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return terms.equals(((SparsePolynomial) o).terms);
+    }
+
+    @Override
+    public int hashCode() {
+        return terms.hashCode();
+    }
+}
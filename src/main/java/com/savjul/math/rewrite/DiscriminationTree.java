@@ -0,0 +1,82 @@
+package com.savjul.math.rewrite;
+
+import com.savjul.math.expression.Expression;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie over the preorder key sequence of patterns, where a pattern variable is a wildcard that skips a whole
+ * subtree of the subject. Retrieval returns a superset of the values whose patterns match; repeated pattern
+ * variables are checked by the caller.
+ */
+final class DiscriminationTree<T> {
+    private final Node<T> root = new Node<>();
+
+    private static final class Node<T> {
+        private final Map<Object, Node<T>> children = new HashMap<>();
+        private Node<T> wildcard;
+        private final List<T> values = new ArrayList<>(1);
+    }
+
+    // immutable stack of subject subtrees still to be consumed, shared between retrieval branches
+    private static final class Cursor {
+        private final Expression head;
+        private final Cursor next;
+
+        private Cursor(Expression head, Cursor next) {
+            this.head = head;
+            this.next = next;
+        }
+    }
+
+    void insert(Expression pattern, T value) {
+        List<Expression> pending = new ArrayList<>();
+        pending.add(pattern);
+        Node<T> node = root;
+        while (!pending.isEmpty()) {
+            Expression e = pending.remove(pending.size() - 1);
+            if (Pattern.isVariable(e)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node<>();
+                }
+                node = node.wildcard;
+            }
+            else {
+                node = node.children.computeIfAbsent(Pattern.key(e), k -> new Node<>());
+                List<Expression> children = Pattern.children(e);
+                for (int idx = children.size() - 1; idx >= 0; idx--) {
+                    pending.add(children.get(idx));
+                }
+            }
+        }
+        node.values.add(value);
+    }
+
+    List<T> retrieve(Expression subject) {
+        List<T> result = new ArrayList<>();
+        retrieve(root, new Cursor(subject, null), result);
+        return result;
+    }
+
+    private void retrieve(Node<T> node, Cursor cursor, List<T> result) {
+        if (cursor == null) {
+            result.addAll(node.values);
+            return;
+        }
+        if (node.wildcard != null) {
+            retrieve(node.wildcard, cursor.next, result);
+        }
+        Node<T> child = node.children.get(Pattern.key(cursor.head));
+        if (child != null) {
+            Cursor next = cursor.next;
+            List<Expression> children = Pattern.children(cursor.head);
+            for (int idx = children.size() - 1; idx >= 0; idx--) {
+                next = new Cursor(children.get(idx), next);
+            }
+            retrieve(child, next, result);
+        }
+    }
+}
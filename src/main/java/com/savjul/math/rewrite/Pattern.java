@@ -0,0 +1,89 @@
+package com.savjul.math.rewrite;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Exponent;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Rational;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Variable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// patterns are ordinary expressions in which variables named "?name" match any subexpression
+public final class Pattern {
+    private static final String PREFIX = "?";
+
+    public static Expression variable(String name) {
+        return Variable.of(PREFIX + name);
+    }
+
+    public static boolean isVariable(Expression expression) {
+        return expression instanceof Variable && ((Variable) expression).getName().startsWith(PREFIX);
+    }
+
+    // structural match; factors and terms are matched in order, so patterns should be written in canonical order
+    public static boolean match(Expression pattern, Expression subject, Map<String, Expression> bindings) {
+        if (isVariable(pattern)) {
+            String name = ((Variable) pattern).getName();
+            Expression bound = bindings.putIfAbsent(name, subject);
+            return bound == null || bound.equals(subject);
+        }
+        Object key = key(pattern);
+        if (!key.equals(key(subject))) {
+            return false;
+        }
+        List<Expression> patternChildren = children(pattern);
+        List<Expression> subjectChildren = children(subject);
+        for (int idx = 0; idx < patternChildren.size(); idx++) {
+            if (!match(patternChildren.get(idx), subjectChildren.get(idx), bindings)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // node kind and head: arity-tagged operator for compounds, the expression itself for leaves
+    static Object key(Expression expression) {
+        if (expression instanceof Polynomial) {
+            return "+" + ((Polynomial) expression).getTerms().size();
+        }
+        if (expression instanceof Term) {
+            return "*" + ((Term) expression).getFactors().size();
+        }
+        if (expression instanceof Exponent) {
+            return "^";
+        }
+        if (expression instanceof Rational) {
+            return "/";
+        }
+        if (expression instanceof Trigonometric) {
+            return ((Trigonometric) expression).getName();
+        }
+        return expression;
+    }
+
+    static List<Expression> children(Expression expression) {
+        if (expression instanceof Polynomial) {
+            return ((Polynomial) expression).getTerms();
+        }
+        if (expression instanceof Term) {
+            return ((Term) expression).getFactors();
+        }
+        if (expression instanceof Exponent) {
+            return Arrays.asList(((Exponent) expression).getBase(), ((Exponent) expression).getPower());
+        }
+        if (expression instanceof Rational) {
+            return Arrays.asList(((Rational) expression).getNumerator(), ((Rational) expression).getDenominator());
+        }
+        if (expression instanceof Trigonometric) {
+            return Collections.singletonList(((Trigonometric) expression).getArgument());
+        }
+        return Collections.emptyList();
+    }
+
+    private Pattern() {}
+}
@@ -0,0 +1,66 @@
+package com.savjul.math.rewrite;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.transformers.VariableExpander;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public final class RewriteRule {
+    private final String name;
+    private final Expression pattern;
+    private final Function<Map<String, Expression>, Expression> replacement;
+    private final Predicate<Map<String, Expression>> condition;
+
+    public static RewriteRule of(String name, Expression pattern, Expression replacement) {
+        return of(name, pattern, bindings -> substitute(replacement, bindings));
+    }
+
+    public static RewriteRule of(String name, Expression pattern, Function<Map<String, Expression>, Expression> replacement) {
+        return new RewriteRule(name, pattern, replacement, bindings -> true);
+    }
+
+    private RewriteRule(String name, Expression pattern, Function<Map<String, Expression>, Expression> replacement,
+                        Predicate<Map<String, Expression>> condition) {
+        this.name = Objects.requireNonNull(name);
+        this.pattern = Objects.requireNonNull(pattern);
+        this.replacement = Objects.requireNonNull(replacement);
+        this.condition = Objects.requireNonNull(condition);
+    }
+
+    // bindings are keyed by the full pattern variable name, e.g. "?x"
+    public RewriteRule when(Predicate<Map<String, Expression>> condition) {
+        return new RewriteRule(name, pattern, replacement, this.condition.and(condition));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Expression getPattern() {
+        return pattern;
+    }
+
+    // the rewritten expression, or null when the rule does not apply
+    public Expression apply(Expression expression) {
+        Map<String, Expression> bindings = new HashMap<>();
+        if (!Pattern.match(pattern, expression, bindings) || !condition.test(bindings)) {
+            return null;
+        }
+        return replacement.apply(bindings);
+    }
+
+    private static Expression substitute(Expression replacement, Map<String, Expression> bindings) {
+        VariableExpander.Builder builder = VariableExpander.get();
+        bindings.forEach(builder::add);
+        return builder.build().apply(replacement);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + pattern;
+    }
+}
@@ -0,0 +1,205 @@
+package com.savjul.math.rewrite;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.transformers.ExpressionTransformer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Applies rewrite rules bottom-up until no rule matches. Candidate rules for a node come from a
+ * {@link DiscriminationTree} keyed on node kind and head, so the cost per node depends on how many patterns share
+ * its shape rather than on the size of the rule set. When several rules match, the one added first wins.
+ */
+public final class RuleSet implements Function<Expression, Expression> {
+    private final List<RewriteRule> rules;
+    private final DiscriminationTree<Integer> index = new DiscriminationTree<>();
+    private final LongAdder[] hits;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final LongAdder candidates = new LongAdder();
+    private final int maxSteps;
+
+    public static Builder get() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<RewriteRule> rules = new ArrayList<>();
+        private int maxSteps = 1000;
+
+        private Builder() {}
+
+        public Builder add(RewriteRule rule) {
+            this.rules.add(rule);
+            return this;
+        }
+
+        public Builder add(String name, Expression pattern, Expression replacement) {
+            return add(RewriteRule.of(name, pattern, replacement));
+        }
+
+        // upper bound on rewrites per node, guarding against rule sets that cycle
+        public Builder maxSteps(int maxSteps) {
+            if (maxSteps <= 0) throw new IllegalArgumentException("Step limit must be positive: " + maxSteps);
+            this.maxSteps = maxSteps;
+            return this;
+        }
+
+        public RuleSet build() {
+            return new RuleSet(new ArrayList<>(rules), maxSteps);
+        }
+    }
+
+    private RuleSet(List<RewriteRule> rules, int maxSteps) {
+        this.rules = rules;
+        this.maxSteps = maxSteps;
+        this.hits = new LongAdder[rules.size()];
+        for (int idx = 0; idx < rules.size(); idx++) {
+            index.insert(rules.get(idx).getPattern(), idx);
+            hits[idx] = new LongAdder();
+        }
+    }
+
+    public List<RewriteRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    @Override
+    public Expression apply(Expression expression) {
+        return new Rewriter().visit(expression);
+    }
+
+    // rules whose pattern shape fits the expression, in the order they were added
+    public List<RewriteRule> candidates(Expression expression) {
+        List<RewriteRule> result = new ArrayList<>();
+        for (int idx : lookup(expression)) {
+            result.add(rules.get(idx));
+        }
+        return result;
+    }
+
+    private List<Integer> lookup(Expression expression) {
+        long start = System.nanoTime();
+        List<Integer> result = index.retrieve(expression);
+        if (result.size() > 1) {
+            Collections.sort(result);
+        }
+        lookupNanos.add(System.nanoTime() - start);
+        lookups.increment();
+        candidates.add(result.size());
+        return result;
+    }
+
+    // rewrites a single node until no rule applies, without descending into children
+    private Expression rewrite(Expression expression) {
+        for (int step = 0; step < maxSteps; step++) {
+            Expression rewritten = null;
+            for (int idx : lookup(expression)) {
+                rewritten = rules.get(idx).apply(expression);
+                if (rewritten != null) {
+                    hits[idx].increment();
+                    break;
+                }
+            }
+            if (rewritten == null || rewritten.equals(expression)) {
+                return expression;
+            }
+            expression = rewritten;
+        }
+        throw new IllegalStateException("Rewriting did not terminate within " + maxSteps + " steps: " + expression);
+    }
+
+    private final class Rewriter extends ExpressionTransformer {
+        private int depth;
+
+        @Override
+        public Expression visit(Expression expression) {
+            Expression normalised = super.visit(expression);
+            Expression result = rewrite(normalised);
+            if (result == normalised) {
+                return result;
+            }
+            // the replacement can contain new redexes below its root, so it is normalised in turn
+            if (++depth > maxSteps) {
+                throw new IllegalStateException("Rewriting did not terminate within " + maxSteps + " steps: " + result);
+            }
+            try {
+                return visit(result);
+            }
+            finally {
+                depth--;
+            }
+        }
+    }
+
+    public Statistics statistics() {
+        Map<String, Long> ruleHits = new LinkedHashMap<>();
+        for (int idx = 0; idx < rules.size(); idx++) {
+            ruleHits.merge(rules.get(idx).getName(), hits[idx].sum(), Long::sum);
+        }
+        return new Statistics(lookups.sum(), candidates.sum(), lookupNanos.sum(), ruleHits);
+    }
+
+    public void resetStatistics() {
+        lookups.reset();
+        candidates.reset();
+        lookupNanos.reset();
+        for (LongAdder hit : hits) {
+            hit.reset();
+        }
+    }
+
+    public static final class Statistics {
+        private final long lookups;
+        private final long candidates;
+        private final long lookupNanos;
+        private final Map<String, Long> hits;
+
+        private Statistics(long lookups, long candidates, long lookupNanos, Map<String, Long> hits) {
+            this.lookups = lookups;
+            this.candidates = candidates;
+            this.lookupNanos = lookupNanos;
+            this.hits = Collections.unmodifiableMap(hits);
+        }
+
+        public long getLookups() {
+            return lookups;
+        }
+
+        public long getCandidates() {
+            return candidates;
+        }
+
+        public long getLookupNanos() {
+            return lookupNanos;
+        }
+
+        public double getCandidatesPerLookup() {
+            return lookups == 0 ? 0.0 : (double) candidates / lookups;
+        }
+
+        public double getNanosPerLookup() {
+            return lookups == 0 ? 0.0 : (double) lookupNanos / lookups;
+        }
+
+        public long getHits(String rule) {
+            return hits.getOrDefault(rule, 0L);
+        }
+
+        public Map<String, Long> getHits() {
+            return hits;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("lookups=%d, candidates/lookup=%.2f, ns/lookup=%.1f, hits=%s", lookups,
+                    getCandidatesPerLookup(), getNanosPerLookup(), hits);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.savjul.math.transformers;
 import com.savjul.math.expression.Expression;
 import com.savjul.math.expression.compound.Exponent;
 import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Rational;
 import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.compound.Trigonometric;
 import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.expression.simple.Variable;
 
@@ -32,6 +34,11 @@ public final class BasicComparison {
 
         @Override
         public int compare(Expression o1, Expression o2) {
+            int res = order(o1, o2);
+            return res != 0 ? res : structural(o1, o2);
+        }
+
+        private int order(Expression o1, Expression o2) {
             if (isNumeric(o1) && isNumeric(o2)) {
                 return compareNumericConstants(o2, o1);
             } else if (isNumeric(o1)) {
@@ -66,12 +73,20 @@ public final class BasicComparison {
             else if (o1 instanceof Polynomial || o2 instanceof Polynomial) {
                 return BasicComparison.compare(Polynomial.getTerms(o1), Polynomial.getTerms(o2), this);
             }
+            else if (o1 instanceof Trigonometric && o2 instanceof Trigonometric) {
+                return compareTrigonometric((Trigonometric) o1, (Trigonometric) o2, this);
+            }
             return 0;
         }
     }
     private static final class SimplifyingTermComparator implements Comparator<Expression> {
         @Override
         public int compare(Expression o1, Expression o2) {
+            int res = order(o1, o2);
+            return res != 0 ? res : structural(o1, o2);
+        }
+
+        private int order(Expression o1, Expression o2) {
             if (isNumeric(o1) && isNumeric(o2)) {
                 return compareNumericConstants(o2, o1);
             } else if (isNumeric(o1)) {
@@ -96,8 +111,76 @@ public final class BasicComparison {
             else if (o1 instanceof Polynomial || o2 instanceof Polynomial) {
                 return BasicComparison.compare(Polynomial.getTerms(o1), Polynomial.getTerms(o2), this);
             }
+            // keeps equal trigonometric factors adjacent so they merge into one power
+            else if (o1 instanceof Trigonometric && o2 instanceof Trigonometric) {
+                return compareTrigonometric((Trigonometric) o1, (Trigonometric) o2, this);
+            }
+            else if (o1 instanceof Trigonometric) {
+                return 1;
+            }
+            else if (o2 instanceof Trigonometric) {
+                return -1;
+            }
+            return 0;
+        }
+    }
+
+    // arguments compare in full, coefficients included, so csc(-12z) and csc(z) never tie
+    private static int compareTrigonometric(Trigonometric t1, Trigonometric t2, Comparator<Expression> comparator) {
+        int res = t1.getName().compareTo(t2.getName());
+        return res != 0 ? res : comparator.compare(t1.getArgument(), t2.getArgument());
+    }
+
+    /*
+     * Total order on structure alone, breaking the ties the display and simplification orders leave open. Without
+     * it the order of tied factors depends on the order they were built in, and equal trees render differently.
+     */
+    private static int structural(Expression o1, Expression o2) {
+        if (o1.equals(o2)) {
             return 0;
         }
+        int res = Integer.compare(rank(o1), rank(o2));
+        if (res != 0) {
+            return res;
+        }
+        if (o1 instanceof Constant) {
+            res = compareNumericConstants(o1, o2);
+            return res != 0 ? res : o1.getClass().getName().compareTo(o2.getClass().getName());
+        }
+        else if (o1 instanceof Variable) {
+            return ((Variable) o1).getName().compareTo(((Variable) o2).getName());
+        }
+        else if (o1 instanceof Trigonometric) {
+            return compareTrigonometric((Trigonometric) o1, (Trigonometric) o2, BasicComparison::structural);
+        }
+        else if (o1 instanceof Exponent) {
+            Exponent e1 = (Exponent) o1; Exponent e2 = (Exponent) o2;
+            res = structural(e1.getBase(), e2.getBase());
+            return res != 0 ? res : structural(e1.getPower(), e2.getPower());
+        }
+        else if (o1 instanceof Rational) {
+            Rational r1 = (Rational) o1; Rational r2 = (Rational) o2;
+            res = structural(r1.getNumerator(), r2.getNumerator());
+            return res != 0 ? res : structural(r1.getDenominator(), r2.getDenominator());
+        }
+        else if (o1 instanceof Term) {
+            return compare(((Term) o1).getFactors(), ((Term) o2).getFactors(), BasicComparison::structural);
+        }
+        else if (o1 instanceof Polynomial) {
+            return compare(((Polynomial) o1).getTerms(), ((Polynomial) o2).getTerms(), BasicComparison::structural);
+        }
+        return o1.getClass().getName().compareTo(o2.getClass().getName());
+    }
+
+    private static int rank(Expression expression) {
+        if (expression instanceof Constant) return 0;
+        else if (expression instanceof Variable) return 1;
+        else if (expression instanceof Trigonometric) return 2;
+        else if (expression instanceof Exponent) return 3;
+        else if (expression instanceof Rational) return 4;
+        else if (expression instanceof Term) return 5;
+        else if (expression instanceof Polynomial) return 6;
+        return 7;
     }
 
     private static boolean isNumeric(Expression o1) {
@@ -105,7 +188,7 @@ public final class BasicComparison {
     }
 
     private static int compareNumericConstants(Expression o1, Expression o2) {
-        return Double.compare(((Constant)o1).getValue().doubleValue(), ((Constant)o2).getValue().doubleValue());
+        return ConstantFolding.compare((Constant<?>) o1, (Constant<?>) o2);
     }
 
     private static int compare(List<Expression> l1, List<Expression> l2, Comparator<Expression> comparator) {
@@ -6,48 +6,105 @@ import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.expression.simple.Transcendental;
 import com.savjul.math.expression.simple.Variable;
 
+import java.util.List;
+
 public final class Calculator extends ExpressionVisitor<Double> {
     private static final Calculator INSTANCE = new Calculator();
 
     public static Calculator instance() { return INSTANCE; }
 
     public static Double doubleValue(Expression expression) {
-        return INSTANCE.visit(expression);
+        return evaluate(expression);
+    }
+
+    // primitive evaluation path: no boxing and no allocation per node
+    public static double evaluate(Expression expression) {
+        if (expression instanceof Constant) {
+            return ((Constant<?>) expression).doubleValue();
+        }
+        else if (expression instanceof Term) {
+            return product(((Term) expression).getFactors());
+        }
+        else if (expression instanceof Polynomial) {
+            return sum(((Polynomial) expression).getTerms());
+        }
+        else if (expression instanceof Exponent) {
+            Exponent exponent = (Exponent) expression;
+            return Math.pow(evaluate(exponent.getBase()), evaluate(exponent.getPower()));
+        }
+        else if (expression instanceof Rational) {
+            Rational rational = (Rational) expression;
+            return evaluate(rational.getNumerator()) / evaluate(rational.getDenominator());
+        }
+        else if (expression instanceof Trigonometric) {
+            Trigonometric trigonometric = (Trigonometric) expression;
+            return trigonometric.valueAt(evaluate(trigonometric.getArgument()));
+        }
+        else if (expression instanceof Variable) {
+            throw new IllegalThreadStateException("Can't convert variable to Double");
+        }
+        throw new IllegalArgumentException("Can't evaluate " + expression.getClass().getSimpleName());
+    }
+
+    private static double product(List<Expression> factors) {
+        double result = 1.0;
+        for (int idx = 0; idx < factors.size(); idx++) {
+            result *= evaluate(factors.get(idx));
+        }
+        return result;
+    }
+
+    // Neumaier's compensated summation: O(n) and accurate regardless of term order
+    private static double sum(List<Expression> terms) {
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (int idx = 0; idx < terms.size(); idx++) {
+            double value = evaluate(terms.get(idx));
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            }
+            else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+        return sum + compensation;
     }
 
     @Override
     public Double visit(Term expression) {
-        return expression.getFactors().stream().map(this::visit).sorted().reduce(1.0, (a, b) -> a * b);
+        return product(expression.getFactors());
     }
 
     @Override
     public Double visit(Polynomial expression) {
-        return expression.getTerms().stream().map(this::visit).sorted().reduce(0.0, (a, b) -> a + b);
+        return sum(expression.getTerms());
     }
 
     @Override
     public Double visit(Exponent expression) {
-        return Math.pow(visit(expression.getBase()), visit(expression.getPower()));
+        return evaluate(expression);
     }
 
     @Override
     public Double visit(Rational expression) {
-        return visit(expression.getNumerator()) / visit(expression.getDenominator());
+        return evaluate(expression);
     }
 
     @Override
     public Double visit(Trigonometric expression) {
-        return expression.doubleValue(this::visit);
+        return evaluate(expression);
     }
 
     @Override
     public Double visit(Constant<?> expression) {
-        return expression.getValue().doubleValue();
+        return expression.doubleValue();
     }
 
     @Override
     public Double visit(Transcendental expression) {
-        return expression.getValue();
+        return expression.doubleValue();
     }
 
     @Override
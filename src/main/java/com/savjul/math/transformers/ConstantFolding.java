@@ -0,0 +1,175 @@
+package com.savjul.math.transformers;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Exponent;
+import com.savjul.math.expression.simple.BigRational;
+import com.savjul.math.expression.simple.Constant;
+
+import java.math.BigInteger;
+
+public final class ConstantFolding {
+    private static final int MAX_EXACT_POWER = 1 << 16;
+
+    public static Constant<?> add(Constant<?> e1, Constant<?> e2) {
+        switch (e1.getType().widen(e2.getType())) {
+            case INT:
+                return exact((long) e1.intValue() + e2.intValue(), Constant.Type.INT);
+            case LONG: {
+                long a = e1.longValue(), b = e2.longValue();
+                long r = a + b;
+                if (((a ^ r) & (b ^ r)) < 0) {
+                    return exact(BigInteger.valueOf(a).add(BigInteger.valueOf(b)), Constant.Type.LONG);
+                }
+                return Constant.of(r);
+            }
+            case BIG_INTEGER:
+                return exact(e1.bigIntegerValue().add(e2.bigIntegerValue()), floor(e1, e2));
+            case BIG_RATIONAL:
+                return exact(e1.bigRationalValue().add(e2.bigRationalValue()), floor(e1, e2));
+            default:
+                return Constant.of(e1.doubleValue() + e2.doubleValue());
+        }
+    }
+
+    public static Constant<?> multiply(Constant<?> e1, Constant<?> e2) {
+        switch (e1.getType().widen(e2.getType())) {
+            case INT:
+                return exact((long) e1.intValue() * e2.intValue(), Constant.Type.INT);
+            case LONG: {
+                long a = e1.longValue(), b = e2.longValue();
+                if (multiplyOverflows(a, b)) {
+                    return exact(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)), Constant.Type.LONG);
+                }
+                return Constant.of(a * b);
+            }
+            case BIG_INTEGER:
+                return exact(e1.bigIntegerValue().multiply(e2.bigIntegerValue()), floor(e1, e2));
+            case BIG_RATIONAL:
+                return exact(e1.bigRationalValue().multiply(e2.bigRationalValue()), floor(e1, e2));
+            default:
+                return Constant.of(e1.doubleValue() * e2.doubleValue());
+        }
+    }
+
+    public static Constant<?> divide(Constant<?> e1, Constant<?> e2) {
+        Constant.Type type = e1.getType().widen(e2.getType());
+        if (!type.isExact()) {
+            return Constant.of(e1.doubleValue() / e2.doubleValue());
+        }
+        if (e2.isZero()) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (type == Constant.Type.INT || type == Constant.Type.LONG) {
+            long a = e1.longValue(), b = e2.longValue();
+            if (a % b == 0 && !(a == Long.MIN_VALUE && b == -1)) {
+                return exact(a / b, type);
+            }
+        }
+        return exact(e1.bigRationalValue().divide(e2.bigRationalValue()), floor(e1, e2));
+    }
+
+    public static Expression pow(Constant<?> base, Constant<?> power) {
+        Constant.Type type = base.getType().widen(power.getType());
+        if (!type.isExact()) {
+            return Constant.of(Math.pow(base.doubleValue(), power.doubleValue()));
+        }
+        if (power.getType() == Constant.Type.BIG_RATIONAL || power.bigIntegerValue().bitLength() > 31
+                || Math.abs(power.longValue()) > MAX_EXACT_POWER) {
+            return Exponent.of(base, power);
+        }
+        int exponent = power.intValue();
+        if (exponent == 0) {
+            return Constant.ONE;
+        }
+        else if (exponent == 1) {
+            return base;
+        }
+        Constant<?> result;
+        if (base.getType() == Constant.Type.BIG_RATIONAL) {
+            result = exact(base.bigRationalValue().pow(Math.abs(exponent)), Constant.Type.INT);
+        }
+        else {
+            result = pow(base, Math.abs(exponent), base.getType() == Constant.Type.INT ? Constant.Type.INT : Constant.Type.LONG);
+        }
+        return exponent > 0 ? result : divide(Constant.ONE, result);
+    }
+
+    public static int compare(Constant<?> e1, Constant<?> e2) {
+        Constant.Type type = e1.getType().widen(e2.getType());
+        if (type == Constant.Type.INT || type == Constant.Type.LONG) {
+            return Long.compare(e1.longValue(), e2.longValue());
+        }
+        else if (type.isExact()) {
+            return e1.bigRationalValue().compareTo(e2.bigRationalValue());
+        }
+        return Double.compare(e1.doubleValue(), e2.doubleValue());
+    }
+
+    // exponentiation by squaring on long, switching to BigInteger.pow as soon as a square or product overflows
+    private static Constant<?> pow(Constant<?> base, int exponent, Constant.Type floor) {
+        if (base.getType() != Constant.Type.BIG_INTEGER) {
+            long b = base.longValue();
+            long result = 1;
+            int e = exponent;
+            boolean overflow = false;
+            while (e > 0) {
+                if ((e & 1) == 1) {
+                    if (multiplyOverflows(result, b)) {
+                        overflow = true;
+                        break;
+                    }
+                    result *= b;
+                }
+                e >>= 1;
+                if (e > 0) {
+                    if (multiplyOverflows(b, b)) {
+                        overflow = true;
+                        break;
+                    }
+                    b *= b;
+                }
+            }
+            if (!overflow) {
+                return exact(result, floor);
+            }
+        }
+        return exact(base.bigIntegerValue().pow(exponent), floor);
+    }
+
+    private static boolean multiplyOverflows(long a, long b) {
+        long r = a * b;
+        long ax = Math.abs(a);
+        long ay = Math.abs(b);
+        if (((ax | ay) >>> 31) != 0) {
+            return (b != 0 && r / b != a) || (a == Long.MIN_VALUE && b == -1);
+        }
+        return false;
+    }
+
+    // the narrowest primitive type an exact result may be demoted to; big operands don't force a wide result
+    private static Constant.Type floor(Constant<?> e1, Constant<?> e2) {
+        Constant.Type t1 = e1.getType().compareTo(Constant.Type.LONG) <= 0 ? e1.getType() : Constant.Type.INT;
+        Constant.Type t2 = e2.getType().compareTo(Constant.Type.LONG) <= 0 ? e2.getType() : Constant.Type.INT;
+        return t1.widen(t2);
+    }
+
+    private static Constant<?> exact(long value, Constant.Type floor) {
+        if (floor == Constant.Type.INT && value == (int) value) {
+            return Constant.of((int) value);
+        }
+        return Constant.of(value);
+    }
+
+    private static Constant<?> exact(BigInteger value, Constant.Type floor) {
+        if (value.bitLength() < 64) {
+            return exact(value.longValue(), floor);
+        }
+        return Constant.of(value);
+    }
+
+    private static Constant<?> exact(BigRational value, Constant.Type floor) {
+        return value.isInteger() ? exact(value.getNumerator(), floor) : Constant.of(value);
+    }
+
+    private ConstantFolding() {}
+}
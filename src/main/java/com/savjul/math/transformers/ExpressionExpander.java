@@ -0,0 +1,123 @@
+package com.savjul.math.transformers;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.*;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.polynomial.MultinomialExpansion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public final class ExpressionExpander extends ExpressionTransformer {
+    private static final ExpressionExpander EXPANDER = new ExpressionExpander();
+    private static final Function<Expression, Expression> INSTANCE = ExpressionExpander::expand;
+
+    public static Function<Expression, Expression> instance() { return INSTANCE; }
+
+    private static Expression expand(Expression expression) {
+        return ExpressionSimplifier.instance().apply(EXPANDER.visit(expression));
+    }
+
+    @Override
+    public Expression visit(Term expression) {
+        List<Expression> factors = new ArrayList<>();
+        for (Expression factor : expression.getFactors()) {
+            factors.add(visit(factor));
+        }
+        return product(factors);
+    }
+
+    @Override
+    public Expression visit(Exponent expression) {
+        Expression base = visit(expression.getBase());
+        Expression power = visit(expression.getPower());
+        int n = integerPower(power);
+        return n < 2 ? Exponent.of(base, power) : expand(base, n);
+    }
+
+    private Expression expand(Expression base, int n) {
+        if (base instanceof Polynomial) {
+            MultinomialExpansion expansion = MultinomialExpansion.of((Polynomial) base, n);
+            return expansion.isPolynomial() ? expansion.expand() : square(base, n);
+        }
+        else if (base instanceof Term) {
+            List<Expression> factors = new ArrayList<>();
+            for (Expression factor : ((Term) base).getFactors()) {
+                factors.add(expand(factor, n));
+            }
+            return product(factors);
+        }
+        else if (base instanceof Rational) {
+            Rational rational = (Rational) base;
+            return Rational.of(expand(rational.getNumerator(), n), expand(rational.getDenominator(), n));
+        }
+        return Exponent.of(base, Constant.of(n));
+    }
+
+    // sums among the factors are multiplied out, so simplifying can't merge equal ones back into a power of a sum
+    private static Expression product(List<Expression> factors) {
+        List<Expression> sums = new ArrayList<>();
+        List<Expression> rest = new ArrayList<>();
+        flatten(factors, sums, rest);
+        if (sums.isEmpty()) {
+            return Term.of(rest);
+        }
+        Expression result = rest.isEmpty() ? sums.get(0) : multiply(Term.of(rest), sums.get(0));
+        for (int idx = 1; idx < sums.size(); idx++) {
+            result = multiply(result, sums.get(idx));
+        }
+        return result;
+    }
+
+    private static void flatten(List<Expression> factors, List<Expression> sums, List<Expression> rest) {
+        for (Expression factor : factors) {
+            if (factor instanceof Term) {
+                flatten(((Term) factor).getFactors(), sums, rest);
+            }
+            else {
+                (factor instanceof Polynomial ? sums : rest).add(factor);
+            }
+        }
+    }
+
+    // square-and-multiply for sums with non-polynomial terms, distributing each product before simplifying it
+    private Expression square(Expression base, int n) {
+        Expression result = null;
+        Expression square = base;
+        while (n > 0) {
+            if ((n & 1) != 0) {
+                result = result == null ? square : multiply(result, square);
+            }
+            n >>= 1;
+            if (n > 0) {
+                square = multiply(square, square);
+            }
+        }
+        return result;
+    }
+
+    private static Expression multiply(Expression e1, Expression e2) {
+        List<Expression> e1terms = Polynomial.getTerms(e1);
+        List<Expression> e2terms = Polynomial.getTerms(e2);
+        List<Expression> terms = new ArrayList<>(e1terms.size() * e2terms.size());
+        for (Expression e1term : e1terms) {
+            for (Expression e2term : e2terms) {
+                terms.add(e1term.times(e2term));
+            }
+        }
+        return ExpressionSimplifier.instance().apply(Polynomial.of(terms));
+    }
+
+    private static int integerPower(Expression power) {
+        if (power instanceof Constant) {
+            Constant<?> constant = (Constant<?>) power;
+            if (constant.getType() == Constant.Type.INT) {
+                return constant.intValue();
+            }
+        }
+        return -1;
+    }
+
+    private ExpressionExpander() {}
+}
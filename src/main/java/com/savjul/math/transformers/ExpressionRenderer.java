@@ -2,6 +2,7 @@ package com.savjul.math.transformers;
 
 import com.savjul.math.expression.Expression;
 import com.savjul.math.expression.compound.*;
+import com.savjul.math.expression.simple.BigRationalConstant;
 import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.expression.simple.Transcendental;
 import com.savjul.math.expression.simple.Variable;
@@ -95,7 +96,10 @@ public final class ExpressionRenderer extends ExpressionVisitor<Void> {
 
     @Override
     public Void visit(Constant<?> expression) {
-        sb.append(expression.getValue());
+        boolean parenthesize = expression instanceof BigRationalConstant && (parent() instanceof Term || parent() instanceof Exponent);
+        if (parenthesize) sb.append('(');
+        sb.append(expression);
+        if (parenthesize) sb.append(')');
         return null;
     }
 
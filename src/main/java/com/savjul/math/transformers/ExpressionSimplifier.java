@@ -3,36 +3,112 @@ package com.savjul.math.transformers;
 import com.savjul.math.expression.Expression;
 import com.savjul.math.expression.compound.*;
 import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.polynomial.SparsePolynomial;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public final class ExpressionSimplifier extends ExpressionVisitor<Expression> {
-    private static final ExpressionSimplifier SIMPLIFIER = new ExpressionSimplifier();
-    private static final Function<Expression, Expression> INSTANCE = ExpressionSimplifier::expand;
+// stateless apart from the optional cache and pool, so one instance can be shared by any number of threads
+public final class ExpressionSimplifier extends ExpressionVisitor<Expression> implements Function<Expression, Expression> {
+    // below this many children a node is simplified on the calling thread even in parallel mode
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 12;
 
-    public static Function<Expression, Expression> instance() { return INSTANCE; }
+    private static final Function<Expression, Expression> UNCACHED = new ExpressionSimplifier(null, null, 0);
+    private static volatile Function<Expression, Expression> instance = UNCACHED;
 
-    private static Expression expand(Expression expression) {
-        return SIMPLIFIER.visit(expression);
+    private final SimplificationCache cache;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    public static Function<Expression, Expression> instance() { return instance; }
+
+    public static Builder get() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private SimplificationCache cache;
+        private ForkJoinPool pool;
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+        private Builder() {
+        }
+
+        public Builder cache(SimplificationCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public Builder cache(int capacity) {
+            return cache(SimplificationCache.of(capacity));
+        }
+
+        public Builder parallel() {
+            return parallel(ForkJoinPool.commonPool());
+        }
+
+        // children of large sums and products are simplified and grouped on the pool; the result is the same as in
+        // sequential mode
+        public Builder parallel(ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool);
+            return this;
+        }
+
+        public Builder parallelThreshold(int parallelThreshold) {
+            if (parallelThreshold < 2) {
+                throw new IllegalArgumentException("Parallel threshold must be at least 2: " + parallelThreshold);
+            }
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        public Function<Expression, Expression> build() {
+            return cache == null && pool == null ? UNCACHED
+                    : new ExpressionSimplifier(cache, pool, parallelThreshold);
+        }
+
+        // makes the built simplifier the one behind instance() and Expression.simplify()
+        public Function<Expression, Expression> install() {
+            Function<Expression, Expression> simplifier = build();
+            instance = simplifier;
+            return simplifier;
+        }
+    }
+
+    private ExpressionSimplifier(SimplificationCache cache, ForkJoinPool pool, int parallelThreshold) {
+        this.cache = cache;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
     }
 
     @Override
     public Expression visit(Expression expression) {
-        if (expression.isCompound()) {
-            return super.visit(expression);
-        }
-        else {
+        if (expression.isSimplified()) {
             return expression;
         }
+        Expression result = cache == null ? null : cache.get(expression);
+        if (result == null) {
+            result = super.visit(expression);
+            if (cache != null) {
+                cache.put(expression, result);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Expression apply(Expression expression) {
+        return visit(expression);
     }
 
     @Override
     public Expression visit(Term expression) {
         PriorityQueue<Expression> factors = new PriorityQueue<>(BasicComparison.termSimplify());
-        factors.addAll(expression.getFactors().stream().map(e->visit(e))
+        factors.addAll(Arrays.stream(visitAll(expression.getFactors()))
                 .flatMap(e->e instanceof Term ? ((Term) e).getFactors().stream() : Stream.of(e))
                 .collect(Collectors.toList()));
         Deque<Expression> result = new ArrayDeque<>();
@@ -52,7 +128,7 @@ public final class ExpressionSimplifier extends ExpressionVisitor<Expression> {
             else {
                 Expression e2 = result.removeLast();
                 if (e1 instanceof Constant && e2 instanceof Constant) {
-                    factors.add(multiply((Constant<?>) e1, (Constant<?>) e2));
+                    factors.add(ConstantFolding.multiply((Constant<?>) e1, (Constant<?>) e2));
                 }
                 else if (e1 instanceof Rational && e2 instanceof Rational) {
                     Expression e1num = ((Rational) e1).getNumerator();
@@ -60,35 +136,39 @@ public final class ExpressionSimplifier extends ExpressionVisitor<Expression> {
                     Expression e2num = ((Rational) e2).getNumerator();
                     Expression e2den = ((Rational) e2).getDenominator();
                     Rational newRational = Rational.of(e1num.times(e2num), e1den.times(e2den));
-                    factors.add(visit(newRational));
+                    factors.add(simplify(newRational));
                 }
                 else if (e1 instanceof Rational) {
                     Expression newNumerator = ((Rational) e1).getNumerator().times(e2);
                     Expression newDenominator = ((Rational) e1).getDenominator();
                     Rational newRational = Rational.of(newNumerator, newDenominator);
-                    factors.add(visit(newRational));
+                    factors.add(simplify(newRational));
                 }
                 else if (e2 instanceof Rational) {
                     Expression newNumerator = ((Rational) e2).getNumerator().times(e1);
                     Expression newDenominator = ((Rational) e2).getDenominator();
                     Rational newRational = Rational.of(newNumerator, newDenominator);
-                    factors.add(visit(newRational));
+                    factors.add(simplify(newRational));
                 }
                 else if (Exponent.getBase(e1).equals(Exponent.getBase(e2))) {
                     Exponent newExponent = Exponent.of(Exponent.getBase(e1), Exponent.getPower(e1).plus(Exponent.getPower(e2)));
-                    factors.add(visit(newExponent));
+                    factors.add(simplify(newExponent));
+                }
+                else if (e1 instanceof Polynomial && e2 instanceof Polynomial
+                        && SparsePolynomial.isPolynomial(e1) && SparsePolynomial.isPolynomial(e2)) {
+                    factors.add(SparsePolynomial.of(e1).times(SparsePolynomial.of(e2)).toExpression());
                 }
                 else if (e1 instanceof Polynomial && e2 instanceof Polynomial) {
                     Polynomial newPolynomial = multiply(((Polynomial) e1).getTerms(), ((Polynomial) e2).getTerms());
-                    factors.add(visit(newPolynomial));
+                    factors.add(simplify(newPolynomial));
                 }
                 else if (e1 instanceof Polynomial) {
                     Polynomial newPolynomial = multiply(((Polynomial) e1).getTerms(), Collections.singletonList(e2));
-                    factors.add(visit(newPolynomial));
+                    factors.add(simplify(newPolynomial));
                 }
                 else if (e2 instanceof Polynomial) {
                     Polynomial newPolynomial = multiply(Collections.singletonList(e1), ((Polynomial) e2).getTerms());
-                    factors.add(visit(newPolynomial));
+                    factors.add(simplify(newPolynomial));
                 }
                 else {
                     result.add(e2);
@@ -99,29 +179,6 @@ public final class ExpressionSimplifier extends ExpressionVisitor<Expression> {
         return (result.isEmpty() ? Constant.ONE : result.size() == 1 ? result.removeLast() : Term.of(result.stream().sorted(BasicComparison.factors())));
     }
 
-    private static Expression multiply(Constant<?> e1, Constant<?> e2) {
-        if (e1.isSameType(e2) && e1.isSameType(Integer.class)) {
-            return Constant.of(e1.getValue().intValue() * e2.getValue().intValue());
-        }
-        else if (e1.isSameType(e2) && e1.isSameType(Long.class)) {
-            return Constant.of(e1.getValue().longValue() * e2.getValue().longValue());
-        }
-        else if (e1.isSameType(e2) && e1.isSameType(Double.class)) {
-            return Constant.of(e1.getValue().doubleValue() * e2.getValue().doubleValue());
-        }
-        else if (e1.isSameType(Double.class) || e2.isSameType(Double.class)) {
-            return Constant.of(e1.getValue().doubleValue() * e2.getValue().doubleValue());
-        }
-        else if (e1.isSameType(Long.class) || e2.isSameType(Long.class)) {
-            return Constant.of(e1.getValue().longValue() * e2.getValue().longValue());
-        }
-        else {
-            throw new IllegalArgumentException(String.format("Don't know how to multiply %s and %s",
-                    e1.getValue().getClass().getSimpleName(),
-                    e2.getValue().getClass().getSimpleName()));
-        }
-    }
-
     private static Polynomial multiply(List<Expression> e1terms, List<Expression> e2terms) {
         List<Expression> terms = new ArrayList<>(e1terms.size() * e2terms.size());
         for (Expression e1term: e1terms) {
@@ -134,84 +191,148 @@ public final class ExpressionSimplifier extends ExpressionVisitor<Expression> {
 
     @Override
     public Expression visit(Polynomial expression) {
-        PriorityQueue<Expression> terms = new PriorityQueue<>(BasicComparison.terms());
-        terms.addAll(expression.getTerms().stream().map(e->visit(e))
-                .flatMap(e->e instanceof Polynomial ? ((Polynomial) e).getTerms().stream() : Stream.of(e))
-                .collect(Collectors.toList()));
-        Deque<Expression> result = new ArrayDeque<>();
-        while (!terms.isEmpty()) {
-            Expression e1 = terms.remove();
-            if (e1 instanceof Polynomial) {
-                terms.addAll(((Polynomial) e1).getTerms());
+        Deque<Expression> pending = new ArrayDeque<>(Arrays.asList(visitAll(expression.getTerms())));
+        Constant<?> constant = Constant.ZERO;
+        List<Expression> result = new ArrayList<>();
+        List<Expression> symbolic = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            Expression term = pending.removeFirst();
+            if (term instanceof Polynomial) {
+                pending.addAll(((Polynomial) term).getTerms());
             }
-            else if (isZero(e1)) {
+            else if (term instanceof Constant) {
+                constant = ConstantFolding.add(constant, (Constant<?>) term);
             }
-            else if (result.isEmpty()){
-                result.addLast(e1);
+            else if (term.isConstant()) {
+                result.add(term);
             }
             else {
-                Expression e2 = result.removeLast();
-                if (e1 instanceof Constant<?> && e2 instanceof Constant<?>) {
-                    terms.add(add((Constant<?>) e1, (Constant<?>) e2));
+                symbolic.add(term);
+            }
+        }
+        if (!constant.isZero()) {
+            result.add(constant);
+        }
+        // splitting terms into coefficient and shared factors is independent per term; merging stays in term order
+        LikeTerms[] likeTerms = new LikeTerms[symbolic.size()];
+        forEach(likeTerms.length, idx -> likeTerms[idx] = new LikeTerms(symbolic.get(idx)));
+        Map<List<Expression>, LikeTerms> groups = new LinkedHashMap<>();
+        for (LikeTerms group : likeTerms) {
+            LikeTerms existing = groups.putIfAbsent(group.shared, group);
+            if (existing != null) {
+                existing.add(group);
+            }
+        }
+        List<LikeTerms> distinct = new ArrayList<>(groups.values());
+        Expression[] combined = new Expression[distinct.size()];
+        forEach(combined.length, idx -> combined[idx] = distinct.get(idx).combine());
+        for (Expression group : combined) {
+            for (Expression term : Polynomial.getTerms(group)) {
+                if (!isZero(term)) {
+                    result.add(term);
+                }
+            }
+        }
+        result.sort(BasicComparison.terms());
+        return result.isEmpty() ? Constant.ZERO : result.size() == 1 ? result.get(0) : Polynomial.of(result);
+    }
+
+    // terms sharing the same non-constant factors, with their constant coefficients summed as they are added
+    private final class LikeTerms {
+        private final Expression first;
+        private final List<Expression> shared;
+        private Constant<?> numeric = Constant.ONE;
+        private List<Expression> symbolic;
+        private int count = 1;
+
+        private LikeTerms(Expression term) {
+            this.first = term;
+            if (!(term instanceof Term)) {
+                this.shared = Collections.singletonList(term);
+                return;
+            }
+            List<Expression> factors = ((Term) term).getFactors();
+            List<Expression> shared = new ArrayList<>(factors.size());
+            List<Expression> coefficient = null;
+            for (int idx = 0; idx < factors.size(); idx++) {
+                Expression factor = factors.get(idx);
+                if (factor instanceof Constant) {
+                    numeric = ConstantFolding.multiply(numeric, (Constant<?>) factor);
                 }
-                else if (!Term.getNonConstants(e1).isEmpty() &&
-                        Term.getNonConstants(e1).equals(Term.getNonConstants(e2))) {
-                    Expression constant1 = Term.getConstantCoefficient(e1);
-                    Expression constant2 = Term.getConstantCoefficient(e2);
-                    List<Expression> shared = Term.getNonConstants(e1);
-                    Term e3 = Term.of(Stream.concat(shared.stream(), Stream.of(constant1.plus(constant2))).sorted(BasicComparison.factors()));
-                    terms.add(visit(e3));
+                else if (factor.isConstant()) {
+                    if (coefficient == null) {
+                        coefficient = new ArrayList<>();
+                    }
+                    coefficient.add(factor);
                 }
                 else {
-                    result.addLast(e2);
-                    result.addLast(e1);
+                    shared.add(factor);
                 }
             }
+            this.shared = shared;
+            if (coefficient != null) {
+                coefficient.add(numeric);
+                coefficient.sort(BasicComparison.factors());
+                this.symbolic = new ArrayList<>();
+                this.symbolic.add(Term.of(coefficient));
+                this.numeric = Constant.ZERO;
+            }
         }
-        return result.isEmpty() ? Constant.ZERO : result.size() == 1 ? result.removeLast() : Polynomial.of(result.stream().sorted(BasicComparison.terms()));
-    }
 
-    private static Expression add(Constant<?> e1, Constant<?> e2) {
-        if (e1.isSameType(e2) && e1.isSameType(Integer.class)) {
-            return Constant.of(e1.getValue().intValue() + e2.getValue().intValue());
-        }
-        else if (e1.isSameType(e2) && e1.isSameType(Long.class)) {
-            return Constant.of(e1.getValue().longValue() + e2.getValue().longValue());
-        }
-        else if (e1.isSameType(e2) && e1.isSameType(Double.class)) {
-            return Constant.of(e1.getValue().doubleValue() + e2.getValue().doubleValue());
-        }
-        else if (e1.isSameType(Double.class) || e2.isSameType(Double.class)) {
-            return Constant.of(e1.getValue().doubleValue() + e2.getValue().doubleValue());
-        }
-        else if (e1.isSameType(Long.class) || e2.isSameType(Long.class)) {
-            return Constant.of(e1.getValue().longValue() + e2.getValue().longValue());
+        private void add(LikeTerms other) {
+            count++;
+            numeric = ConstantFolding.add(numeric, other.numeric);
+            if (other.symbolic != null) {
+                if (symbolic == null) {
+                    symbolic = new ArrayList<>();
+                }
+                symbolic.addAll(other.symbolic);
+            }
         }
-        else {
-            throw new IllegalArgumentException(String.format("Don't know how to add %s and %s",
-                    e1.getValue().getClass().getSimpleName(),
-                    e2.getValue().getClass().getSimpleName()));
+
+        private Expression combine() {
+            if (count == 1) {
+                return first;
+            }
+            Expression coefficient = numeric;
+            if (symbolic != null) {
+                List<Expression> terms = new ArrayList<>(symbolic);
+                terms.add(numeric);
+                coefficient = Polynomial.of(terms);
+            }
+            else if (numeric.isZero()) {
+                return Constant.ZERO;
+            }
+            else if (isCanonical(shared)) {
+                // shared factors come from an already simplified term, so only the coefficient needs placing
+                if (numeric.isOne()) {
+                    return shared.size() == 1 ? shared.get(0) : Term.of(shared);
+                }
+                List<Expression> factors = new ArrayList<>(shared.size() + 1);
+                factors.add(numeric);
+                factors.addAll(shared);
+                return Term.of(factors);
+            }
+            List<Expression> factors = new ArrayList<>(shared.size() + 1);
+            factors.addAll(shared);
+            factors.add(coefficient);
+            factors.sort(BasicComparison.factors());
+            return simplify(Term.of(factors));
         }
     }
 
     @Override
     public Expression visit(Exponent expression) {
-        Expression power = visit(expression.getPower());
-        Expression base = visit(expression.getBase());
+        Expression power = simplify(expression.getPower());
+        Expression base = simplify(expression.getBase());
         if (isOne(power)) {
             return base;
         }
         else if (isZero(base)) {
             return Constant.ZERO;
         }
-        else if (base instanceof Constant<?> && power instanceof Constant<?> && ((Constant) base).isSameType(Double.class)) {
-            return Constant.of(Math.pow(((Constant<?>)base).getValue().doubleValue(), ((Constant<?>) power).getValue().doubleValue()));
-        }
-        else if (base instanceof Constant && power instanceof Constant<?> && ((Constant) base).isSameType(Integer.class)) {
-            return pow((Constant<Integer>) base, (Constant<Integer>) power);
-        }
-        else if (base instanceof Constant<?> && power instanceof Constant<?> && ((Constant) base).isSameType(Long.class)) {
-            return lpow((Constant<Long>) base, (Constant<Long>) power);
+        else if (base instanceof Constant<?> && power instanceof Constant<?>) {
+            return ConstantFolding.pow((Constant<?>) base, (Constant<?>) power);
         }
         else {
             return Exponent.of(base, power);
@@ -220,28 +341,31 @@ public final class ExpressionSimplifier extends ExpressionVisitor<Expression> {
 
     @Override
     public Expression visit(Rational expression) {
-        Expression denominator = visit(expression.getDenominator());
-        Expression numerator = visit(expression.getNumerator());
+        Expression denominator = simplify(expression.getDenominator());
+        Expression numerator = simplify(expression.getNumerator());
         if (isOne(denominator)) {
             return numerator;
         }
         else if (isZero(numerator)) {
             return Constant.ZERO;
         }
+        else if (isExact(numerator) && isExact(denominator)) {
+            return ConstantFolding.divide((Constant<?>) numerator, (Constant<?>) denominator);
+        }
         else if (denominator instanceof Rational && numerator instanceof Rational) {
             Expression newNumerator = ((Rational)numerator).getNumerator().times(((Rational)denominator).getDenominator());
             Expression newDenominator = ((Rational)numerator).getDenominator().times(((Rational)denominator).getNumerator());
             Rational newRational = Rational.of(newNumerator, newDenominator);
-            return visit(newRational);
+            return simplify(newRational);
         }
         else if (denominator instanceof Rational) {
             Expression newNumerator = numerator.times(((Rational) denominator).getDenominator());
             Expression newDenominator = ((Rational) denominator).getNumerator();
             Rational newRational = Rational.of(newNumerator, newDenominator);
-            return visit(newRational);
+            return simplify(newRational);
         }
         else if (denominator instanceof Trigonometric) {
-            return visit(numerator.times(denominator.invert()));
+            return simplify(numerator.times(denominator.invert()));
         }
         else {
             return Rational.of(numerator, denominator);
@@ -250,66 +374,44 @@ public final class ExpressionSimplifier extends ExpressionVisitor<Expression> {
 
     @Override
     public Expression visit(Trigonometric expression) {
-        return expression.withArgument(visit(expression.getArgument()));
+        return expression.withArgument(simplify(expression.getArgument()));
     }
 
-    private static Expression pow(Constant<Integer> base, Constant<Integer> power) {
-        if (power.getValue() == 0) {
-            return Constant.ONE;
-        }
-        else if (power.getValue() == 1) {
-            return base;
-        }
-        else if (power.getValue() > -1) {
-            return Constant.of(pow(base.getValue(), power.getValue()));
-        }
-        else if (power.getValue() < 0) {
-            return Constant.of(pow(base.getValue(), -1 * power.getValue())).invert();
-        }
-        else {
-            return base.pow(power);
-        }
+    // through Expression.apply, so every simplified subtree is marked and later simplify() calls stop at it
+    private Expression simplify(Expression expression) {
+        return expression.apply(this);
     }
 
-    private static Expression lpow(Constant<Long> base, Constant<Long> power) {
-        if (power.getValue() == 0) {
-            return Constant.ONE;
-        }
-        else if (power.getValue() == 1) {
-            return base;
-        }
-        else if (power.getValue() > -1) {
-            return Constant.of(lpow(base.getValue(), power.getValue()));
-        }
-        else if (power.getValue() < 0) {
-            return Constant.of(lpow(base.getValue(), -1 * power.getValue())).invert();
-        }
-        else {
-            return base.pow(power);
-        }
+    private Expression[] visitAll(List<Expression> children) {
+        Expression[] result = new Expression[children.size()];
+        forEach(result.length, idx -> result[idx] = simplify(children.get(idx)));
+        return result;
     }
 
-    private static int pow(int base, int power) {
-        int res = 1;
-        for (long idx = 0; idx < power; idx++) {
-            res *= base;
-        }
-        return res;
+    // runs body for 0..n-1, on the pool when parallel mode is on and n reaches the threshold
+    private void forEach(int n, IntConsumer body) {
+        ParallelLoop.forEach(pool, n, parallelThreshold, body);
     }
 
-    private static long lpow(long base, long power) {
-        long res = 1;
-        for (long idx = 0; idx < power; idx++) {
-            res *= base;
+    private static boolean isCanonical(List<Expression> factors) {
+        for (int idx = 0; idx < factors.size(); idx++) {
+            Expression factor = factors.get(idx);
+            if (factor instanceof Rational || factor instanceof Polynomial || factor instanceof Term) {
+                return false;
+            }
         }
-        return res;
+        return true;
     }
 
     private static boolean isZero(Expression e) {
-        return e.equals(Constant.ZERO) || e.equals(Constant.DOUBLE_ZERO);
+        return e instanceof Constant && ((Constant<?>) e).isZero();
+    }
+
+    private static boolean isExact(Expression e) {
+        return e instanceof Constant && ((Constant<?>) e).isExact();
     }
 
     private static boolean isOne(Expression e) {
-        return e.equals(Constant.ONE) || e.equals(Constant.DOUBLE_ONE);
+        return e instanceof Constant && ((Constant<?>) e).isOne();
     }
 }
@@ -6,6 +6,10 @@ import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.expression.simple.Transcendental;
 import com.savjul.math.expression.simple.Variable;
 
+import java.util.ArrayList;
+import java.util.List;
+
+// rebuilds the tree bottom-up, returning the original node wherever none of its children changed
 public class ExpressionTransformer extends ExpressionVisitor<Expression> {
     @Override
     public Expression visit(Expression expression) {
@@ -14,27 +18,35 @@ public class ExpressionTransformer extends ExpressionVisitor<Expression> {
 
     @Override
     public Expression visit(Term expression) {
-        return Term.of(expression.getFactors().stream().map(this::visit));
+        List<Expression> factors = visitAll(expression.getFactors());
+        return factors == null ? expression : Term.of(factors.stream());
     }
 
     @Override
     public Expression visit(Polynomial expression) {
-        return Polynomial.of(expression.getTerms().stream().map(this::visit));
+        List<Expression> terms = visitAll(expression.getTerms());
+        return terms == null ? expression : Polynomial.of(terms.stream());
     }
 
     @Override
     public Expression visit(Exponent expression) {
-        return Exponent.of(visit(expression.getBase()), visit(expression.getPower()));
+        Expression base = visit(expression.getBase());
+        Expression power = visit(expression.getPower());
+        return base == expression.getBase() && power == expression.getPower() ? expression : Exponent.of(base, power);
     }
 
     @Override
     public Expression visit(Rational expression) {
-        return Rational.of(visit(expression.getNumerator()), visit(expression.getDenominator()));
+        Expression numerator = visit(expression.getNumerator());
+        Expression denominator = visit(expression.getDenominator());
+        return numerator == expression.getNumerator() && denominator == expression.getDenominator() ? expression
+                : Rational.of(numerator, denominator);
     }
 
     @Override
     public Expression visit(Trigonometric expression) {
-        return super.visit(expression.withArgument(visit(expression.getArgument())));
+        Expression argument = visit(expression.getArgument());
+        return argument == expression.getArgument() ? expression : expression.withArgument(argument);
     }
 
     @Override
@@ -56,4 +68,21 @@ public class ExpressionTransformer extends ExpressionVisitor<Expression> {
     public Expression defaultValue(Expression expression) {
         return expression;
     }
+
+    // the transformed children, or null when every child came back unchanged
+    private List<Expression> visitAll(List<Expression> children) {
+        List<Expression> result = null;
+        for (int idx = 0; idx < children.size(); idx++) {
+            Expression child = children.get(idx);
+            Expression visited = visit(child);
+            if (result == null && visited != child) {
+                result = new ArrayList<>(children.size());
+                result.addAll(children.subList(0, idx));
+            }
+            if (result != null) {
+                result.add(visited);
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,60 @@
+package com.savjul.math.transformers;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a loop body for the indices 0..n-1, split into ranges across a fork-join pool. Called from a task already
+ * running on that pool the ranges are forked in place, so nested loops share the pool instead of blocking on it.
+ */
+public final class ParallelLoop {
+    // sequential when there is no pool or fewer than threshold indices
+    public static void forEach(ForkJoinPool pool, int n, int threshold, IntConsumer body) {
+        if (pool == null || n < Math.max(2, threshold)) {
+            for (int idx = 0; idx < n; idx++) {
+                body.accept(idx);
+            }
+            return;
+        }
+        // a few ranges per worker, so one slow index doesn't leave the others idle
+        Range range = new Range(0, n, Math.max(1, n / (8 * pool.getParallelism())), body);
+        if (ForkJoinTask.getPool() == pool) {
+            range.invoke();
+        }
+        else {
+            pool.invoke(range);
+        }
+    }
+
+    private static final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer body;
+
+        private Range(int from, int to, int grain, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int idx = from; idx < to; idx++) {
+                    body.accept(idx);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Range(from, middle, grain, body), new Range(middle, to, grain, body));
+        }
+    }
+
+    private ParallelLoop() {}
+}
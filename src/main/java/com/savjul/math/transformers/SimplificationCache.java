@@ -0,0 +1,199 @@
+package com.savjul.math.transformers;
+
+import com.savjul.math.expression.Expression;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memo table from input subtrees to their simplified form. Entries are spread over lock-striped
+ * access-ordered segments, each evicting its least recently used entry once full. In weak-key mode an entry
+ * also disappears once its input expression is no longer referenced elsewhere.
+ */
+public final class SimplificationCache {
+    private static final int SEGMENTS = 16;
+    private static final Object SELF = new Object();
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final boolean weakKeys;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private SimplificationCache(int capacity, boolean weakKeys) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.weakKeys = weakKeys;
+        int segmentCapacity = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int idx = 0; idx < SEGMENTS; idx++) {
+            segments[idx] = new Segment(segmentCapacity);
+        }
+    }
+
+    public static SimplificationCache of(int capacity) {
+        return new SimplificationCache(capacity, false);
+    }
+
+    public static SimplificationCache weak(int capacity) {
+        return new SimplificationCache(capacity, true);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean hasWeakKeys() {
+        return weakKeys;
+    }
+
+    public Expression get(Expression expression) {
+        Segment segment = segment(expression.hashCode());
+        Object value;
+        synchronized (segment) {
+            segment.expunge();
+            value = segment.entries.get(weakKeys ? new WeakKey(expression, null) : expression);
+        }
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return value == SELF ? expression : (Expression) value;
+    }
+
+    public void put(Expression expression, Expression simplified) {
+        Segment segment = segment(expression.hashCode());
+        // storing the key itself as the value would pin weak keys forever
+        Object value = simplified == expression ? SELF : simplified;
+        synchronized (segment) {
+            segment.expunge();
+            segment.put(expression, value);
+        }
+    }
+
+    public Statistics statistics() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.expunge();
+                size += segment.entries.size();
+            }
+        }
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.expunge();
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private Segment segment(int hash) {
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENTS - 1)];
+    }
+
+    private final class Segment {
+        private final ReferenceQueue<Expression> queue = new ReferenceQueue<>();
+        private final Map<Object, Object> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private void put(Expression expression, Object value) {
+            entries.put(weakKeys ? new WeakKey(expression, queue) : expression, value);
+        }
+
+        private void expunge() {
+            Object stale;
+            while ((stale = queue.poll()) != null) {
+                entries.remove(stale);
+            }
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<Expression> {
+        private final int hash;
+
+        private WeakKey(Expression expression, ReferenceQueue<Expression> queue) {
+            super(expression, queue);
+            this.hash = expression.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof WeakKey)) return false;
+            Expression expression = get();
+            return expression != null && expression.equals(((WeakKey) o).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long size;
+
+        private Statistics(long hits, long misses, long evictions, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, evictions=%d, size=%d, hitRate=%.3f",
+                    hits, misses, evictions, size, getHitRate());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.savjul.math.benchmark;
+
+import com.savjul.math.polynomial.DensePolynomial;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// crossover points between the multiplication algorithms, see DensePolynomial.KARATSUBA_THRESHOLD and NTT_THRESHOLD
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DensePolynomialBenchmark {
+    @Param({ "16", "32", "48", "64", "128", "192", "256", "512", "2048" })
+    public int length;
+
+    @Param({ "30" })
+    public int bits;
+
+    private DensePolynomial a;
+    private DensePolynomial b;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        a = random(random);
+        b = random(random);
+    }
+
+    private DensePolynomial random(Random random) {
+        BigInteger[] coefficients = new BigInteger[length];
+        for (int idx = 0; idx < length; idx++) {
+            coefficients[idx] = new BigInteger(bits, random).subtract(BigInteger.ONE.shiftLeft(bits - 1));
+        }
+        coefficients[length - 1] = coefficients[length - 1].setBit(0);
+        return DensePolynomial.of(coefficients);
+    }
+
+    @Benchmark
+    public DensePolynomial schoolbook() {
+        return a.times(b, DensePolynomial.Multiplication.SCHOOLBOOK);
+    }
+
+    @Benchmark
+    public DensePolynomial karatsuba() {
+        return a.times(b, DensePolynomial.Multiplication.KARATSUBA);
+    }
+
+    @Benchmark
+    public DensePolynomial ntt() {
+        return a.times(b, DensePolynomial.Multiplication.NTT);
+    }
+}
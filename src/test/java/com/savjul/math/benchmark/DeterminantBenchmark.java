@@ -0,0 +1,80 @@
+package com.savjul.math.benchmark;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.linear.DeterminantMethod;
+import com.savjul.math.linear.Matrix2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// det(A - xI) for a random integer matrix A, simplified; cofactor expansion is skipped above 8x8.
+// The integer methods take det(B) for a random 5n by 5n integer matrix B instead
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeterminantBenchmark {
+    private static final int MAX_COFACTOR = 8;
+
+    @Param({ "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12" })
+    public int n;
+
+    private Matrix2D matrix;
+    private Matrix2D integers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Expression x = Variable.of("x");
+        Expression[][] entries = new Expression[n][n];
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                Expression value = Constant.of(random.nextInt(19) - 9);
+                entries[idx][jdx] = idx == jdx ? value.plus(Constant.MINUS_ONE.times(x)) : value;
+            }
+        }
+        matrix = Matrix2D.of(entries);
+        Expression[][] values = new Expression[5 * n][5 * n];
+        for (Expression[] row : values) {
+            for (int jdx = 0; jdx < row.length; jdx++) {
+                row[jdx] = Constant.of(random.nextInt(2001) - 1000);
+            }
+        }
+        integers = Matrix2D.of(values);
+    }
+
+    @Benchmark
+    public Expression cofactor() {
+        return n > MAX_COFACTOR ? null : matrix.det(DeterminantMethod.COFACTOR).simplify();
+    }
+
+    @Benchmark
+    public Expression bareiss() {
+        return matrix.det(DeterminantMethod.BAREISS);
+    }
+
+    @Benchmark
+    public Expression minors() {
+        return matrix.det(DeterminantMethod.MINORS);
+    }
+
+    @Benchmark
+    public Expression interpolation() {
+        return matrix.det(DeterminantMethod.INTERPOLATION);
+    }
+
+    @Benchmark
+    public Expression integerBareiss() {
+        return integers.det(DeterminantMethod.BAREISS);
+    }
+
+    @Benchmark
+    public Expression integerModular() {
+        return integers.det(DeterminantMethod.MODULAR);
+    }
+}
@@ -0,0 +1,57 @@
+package com.savjul.math.benchmark;
+
+import com.savjul.math.linear.DoubleMatrix;
+import com.savjul.math.linear.DoubleVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// blocked kernels of DoubleMatrix on random dense n x n operands
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DoubleMatrixBenchmark {
+    @Param({ "500", "1000", "2000" })
+    public int n;
+
+    private DoubleMatrix a;
+    private DoubleMatrix b;
+    private DoubleVector v;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] x = new double[n * n];
+        double[] y = new double[n * n];
+        double[] z = new double[n];
+        for (int idx = 0; idx < x.length; idx++) {
+            x[idx] = random.nextDouble();
+            y[idx] = random.nextDouble();
+        }
+        for (int idx = 0; idx < z.length; idx++) {
+            z[idx] = random.nextDouble();
+        }
+        a = DoubleMatrix.of(n, n, x);
+        b = DoubleMatrix.of(n, n, y);
+        v = DoubleVector.of(z);
+    }
+
+    @Benchmark
+    public DoubleMatrix times() {
+        return a.times(b);
+    }
+
+    @Benchmark
+    public DoubleMatrix transpose() {
+        return a.transpose();
+    }
+
+    @Benchmark
+    public DoubleVector timesVector() {
+        return a.times(v);
+    }
+}
@@ -0,0 +1,59 @@
+package com.savjul.math.benchmark;
+
+import com.savjul.math.evaluation.CompiledExpression;
+import com.savjul.math.evaluation.ExpressionCompiler;
+import com.savjul.math.evaluation.ExpressionTape;
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
+import com.savjul.math.transformers.VariableExpander;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// mvn test-compile && java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main EvaluationBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+    private Expression bound;
+    private CompiledExpression compiled;
+    private ExpressionTape tape;
+    private double[] stack;
+    private double[] variables;
+
+    @Setup
+    public void setUp() {
+        Expression x = Variable.of("x");
+        Expression y = Variable.of("y");
+        Expression expression = x.pow(Constant.of(3)).times(Constant.of(4))
+                .plus(Trigonometric.sin(x.times(y)))
+                .plus(y.divideBy(x.plus(Constant.ONE)))
+                .plus(Trigonometric.cos(y).invert().times(x).times(y));
+        bound = expression.apply(VariableExpander.get().add("x", 1.25).add("y", -0.5).build());
+        compiled = ExpressionCompiler.compile(expression, "x", "y");
+        tape = ExpressionTape.of(expression, "x", "y");
+        stack = new double[tape.getMaxStackDepth()];
+        variables = new double[] { 1.25, -0.5 };
+    }
+
+    @Benchmark
+    public double calculator() {
+        return Calculator.evaluate(bound);
+    }
+
+    @Benchmark
+    public double compiled() {
+        return compiled.evaluate(variables);
+    }
+
+    @Benchmark
+    public double tape() {
+        return tape.evaluate(variables, stack);
+    }
+}
@@ -0,0 +1,63 @@
+package com.savjul.math.benchmark;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.ExpressionSimplifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// like-term collection over polynomials whose terms share about one monomial in ten
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialSimplificationBenchmark {
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int terms;
+
+    private Expression polynomial;
+    private final Function<Expression, Expression> parallel = ExpressionSimplifier.get().parallel().build();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Expression[] variables = { Variable.of("x"), Variable.of("y"), Variable.of("z") };
+        int monomials = Math.max(1, terms / 10);
+        int side = (int) Math.ceil(Math.cbrt(monomials));
+        List<Expression> result = new ArrayList<>(terms);
+        for (int idx = 0; idx < terms; idx++) {
+            int monomial = random.nextInt(monomials);
+            List<Expression> factors = new ArrayList<>();
+            factors.add(Constant.of(random.nextInt(19) - 9));
+            for (Expression variable : variables) {
+                int power = monomial % side;
+                monomial /= side;
+                if (power > 0) {
+                    factors.add(power == 1 ? variable : variable.pow(Constant.of(power)));
+                }
+            }
+            result.add(Term.of(factors));
+        }
+        polynomial = Polynomial.of(result);
+    }
+
+    @Benchmark
+    public Expression simplify() {
+        return ExpressionSimplifier.instance().apply(polynomial);
+    }
+
+    @Benchmark
+    public Expression simplifyParallel() {
+        return parallel.apply(polynomial);
+    }
+}
@@ -0,0 +1,88 @@
+package com.savjul.math.benchmark;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Exponent;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.rewrite.Pattern;
+import com.savjul.math.rewrite.RewriteRule;
+import com.savjul.math.rewrite.RuleSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// indexed rule lookup against trying every rule on every node of a 200-term polynomial
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewriteBenchmark {
+    @Param({ "10", "100", "1000" })
+    public int rules;
+
+    private RuleSet ruleSet;
+    private Expression expression;
+
+    @Setup
+    public void setUp() {
+        Expression a = Pattern.variable("a");
+        RuleSet.Builder builder = RuleSet.get();
+        for (int idx = 0; idx < rules; idx++) {
+            // shapes that never occur in the subject, spread over several heads
+            Expression pattern;
+            switch (idx % 3) {
+                case 0: pattern = a.pow(Constant.of(1000 + idx)); break;
+                case 1: pattern = Trigonometric.sin(a.times(Constant.of(1000 + idx))); break;
+                default: pattern = Polynomial.of(a, Constant.of(1000 + idx)); break;
+            }
+            builder.add("rule-" + idx, pattern, a);
+        }
+        ruleSet = builder.build();
+        List<Expression> terms = new ArrayList<>();
+        Expression x = Variable.of("x");
+        for (int idx = 0; idx < 200; idx++) {
+            terms.add(Constant.of(idx).times(Trigonometric.sin(x.times(Constant.of(idx)))).times(x.pow(Constant.of(idx % 7))));
+        }
+        expression = Polynomial.of(terms);
+    }
+
+    @Benchmark
+    public Expression indexed() {
+        return ruleSet.apply(expression);
+    }
+
+    @Benchmark
+    public int linear() {
+        return scan(expression);
+    }
+
+    private int scan(Expression node) {
+        int matches = 0;
+        for (RewriteRule rule : ruleSet.getRules()) {
+            if (rule.apply(node) != null) matches++;
+        }
+        for (Expression child : children(node)) {
+            matches += scan(child);
+        }
+        return matches;
+    }
+
+    private static List<Expression> children(Expression node) {
+        List<Expression> result = new ArrayList<>();
+        if (node instanceof Polynomial) result.addAll(((Polynomial) node).getTerms());
+        else if (node instanceof Term) result.addAll(((Term) node).getFactors());
+        else if (node instanceof Exponent) {
+            result.add(((Exponent) node).getBase());
+            result.add(((Exponent) node).getPower());
+        }
+        else if (node instanceof Trigonometric) result.add(((Trigonometric) node).getArgument());
+        return result;
+    }
+}
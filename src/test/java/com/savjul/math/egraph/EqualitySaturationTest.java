@@ -0,0 +1,125 @@
+package com.savjul.math.egraph;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public final class EqualitySaturationTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+    private static final Expression Z = Variable.of("z");
+
+    @Test
+    public void testPythagoreanIdentity() {
+        Expression e = Trigonometric.sin(X).pow(Constant.of(2)).plus(Trigonometric.cos(X).pow(Constant.of(2)));
+        EqualitySaturation.Result result = EqualitySaturation.get().build().run(e);
+        Assert.assertEquals(Constant.ONE, result.getExpression());
+        Assert.assertEquals(1.0, result.getCost(), 0.0);
+    }
+
+    @Test
+    public void testPythagoreanIdentityAmongOtherTerms() {
+        Expression e = Polynomial.of(Trigonometric.cos(Y).pow(Constant.of(2)), X,
+                Trigonometric.sin(Y).pow(Constant.of(2)));
+        Assert.assertEquals("x + 1", EqualitySaturation.get().build().apply(e).toString());
+    }
+
+    @Test
+    public void testReciprocalTrigonometricProduct() {
+        Expression e = Trigonometric.sin(X).times(Y).times(Trigonometric.sin(X).invert());
+        Assert.assertEquals(Y, EqualitySaturation.get().build().apply(e));
+    }
+
+    @Test
+    public void testQuotientBecomesTangent() {
+        Expression e = Trigonometric.sin(X).divideBy(Trigonometric.cos(X));
+        Assert.assertEquals(Trigonometric.tan(X), EqualitySaturation.get().build().apply(e));
+    }
+
+    @Test
+    public void testFactoring() {
+        Expression e = Polynomial.of(X.times(Y), X.times(Z));
+        EqualitySaturation.Result result = EqualitySaturation.get().build().run(e);
+        Assert.assertEquals(5.0, result.getCost(), 0.0);
+        assertSameValue(e, result.getExpression());
+    }
+
+    @Test
+    public void testExponentLaws() {
+        Expression e = X.pow(Constant.of(3)).times(Y).times(X.pow(Constant.of(2))).divideBy(X);
+        Expression result = EqualitySaturation.get().build().apply(e);
+        Assert.assertEquals("(x^4)y", result.toString());
+    }
+
+    @Test
+    public void testCancellation() {
+        Expression e = Polynomial.of(X.times(Y), Constant.of(3), Constant.MINUS_ONE.times(Y.times(X)));
+        Assert.assertEquals(Constant.of(3), EqualitySaturation.get().build().apply(e));
+    }
+
+    @Test
+    public void testTranscendentalConstantsStaySymbolic() {
+        Expression e = Trigonometric.sin(X).times(Trigonometric.sin(X));
+        Expression result = EqualitySaturation.get().rules(Rules.algebra()).build().apply(e);
+        Assert.assertEquals("sin(x)^2", result.toString());
+    }
+
+    @Test
+    public void testNodeLimitStopsSaturation() {
+        Expression e = Polynomial.of(X, Y, Z, Variable.of("u"), Variable.of("v"), Variable.of("w"))
+                .times(Polynomial.of(X, Y, Z, Variable.of("u")));
+        EqualitySaturation.Result result = EqualitySaturation.get().nodeLimit(500).timeLimit(10, TimeUnit.SECONDS)
+                .build().run(e);
+        Assert.assertEquals(EqualitySaturation.StopReason.NODE_LIMIT, result.getStopReason());
+        Assert.assertTrue(result.getNodeCount() < 1000);
+        assertSameValue(e, result.getExpression());
+    }
+
+    @Test
+    public void testTimeLimitStopsSaturation() {
+        Expression e = Polynomial.of(X, Y, Z, Variable.of("u"), Variable.of("v"), Variable.of("w"))
+                .times(Polynomial.of(X, Y, Z, Variable.of("u"), Variable.of("v"), Variable.of("w")));
+        long start = System.nanoTime();
+        EqualitySaturation.Result result = EqualitySaturation.get().nodeLimit(Integer.MAX_VALUE)
+                .iterationLimit(Integer.MAX_VALUE).timeLimit(50, TimeUnit.MILLISECONDS).build().run(e);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertEquals(EqualitySaturation.StopReason.TIME_LIMIT, result.getStopReason());
+        Assert.assertTrue("took " + elapsed + "ms", elapsed < 2000);
+        assertSameValue(e, result.getExpression());
+    }
+
+    @Test
+    public void testSaturation() {
+        EqualitySaturation.Result result = EqualitySaturation.get().rule(Rules.ADD_COMMUTATIVITY).build()
+                .run(X.plus(Y));
+        Assert.assertEquals(EqualitySaturation.StopReason.SATURATED, result.getStopReason());
+        Assert.assertEquals(2, result.getIterations());
+        Assert.assertEquals(3, result.getClassCount());
+    }
+
+    @Test
+    public void testCustomCostModel() {
+        // penalise division so x/sin(x) is extracted as a product with csc
+        CostModel noDivision = (node, childCosts) ->
+                CostModel.size().cost(node, childCosts) + (node.getOperator() == Operator.DIVIDE ? 10 : 0);
+        Expression e = X.divideBy(Trigonometric.sin(X));
+        Expression result = EqualitySaturation.get().costModel(noDivision).build().apply(e);
+        Assert.assertEquals("xcsc(x)", result.toString());
+    }
+
+    private static void assertSameValue(Expression expected, Expression actual) {
+        Function<Expression, Expression> bindings = VariableExpander.get().add("x", 0.3).add("y", -1.7)
+                .add("z", 2.9).add("u", 0.11).add("v", 5.0).add("w", -0.6).build();
+        Assert.assertEquals(Calculator.evaluate(bindings.apply(expected)), Calculator.evaluate(bindings.apply(actual)),
+                1e-9);
+    }
+}
@@ -0,0 +1,88 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+public final class BatchEvaluatorTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+    private static final Expression E = X.pow(Constant.of(2)).times(Constant.of(3))
+            .plus(Trigonometric.sin(X.times(Y)))
+            .plus(Y.divideBy(X.plus(Constant.ONE)))
+            .plus(Trigonometric.cos(Y).invert().times(X.pow(Constant.of(0.5))))
+            .plus(Constant.of(-4));
+
+    @Test
+    public void testMatchesCalculatorAcrossChunks() {
+        int rows = 2500;
+        double[] xs = new double[rows];
+        double[] ys = new double[rows];
+        for (int idx = 0; idx < rows; idx++) {
+            xs[idx] = 0.001 * idx;
+            ys[idx] = 1.0 - 0.0007 * idx;
+        }
+        double[] result = BatchEvaluator.of(E, Arrays.asList("x", "y"), 256).evaluate(xs, ys);
+        for (int idx = 0; idx < rows; idx += 97) {
+            Expression bound = E.apply(VariableExpander.get().add("x", xs[idx]).add("y", ys[idx]).build());
+            Assert.assertEquals(Calculator.doubleValue(bound), result[idx], 1e-9);
+        }
+    }
+
+    @Test
+    public void testDoubleBuffers() {
+        BatchEvaluator evaluator = BatchEvaluator.of(X.times(Y).plus(X), "x", "y");
+        DoubleBuffer xs = DoubleBuffer.wrap(new double[] { 1, 2, 3 });
+        DoubleBuffer ys = DoubleBuffer.wrap(new double[] { 4, 5, 6 });
+        DoubleBuffer out = DoubleBuffer.allocate(3);
+        evaluator.evaluate(new DoubleBuffer[] { xs, ys }, out);
+        Assert.assertArrayEquals(new double[] { 5, 12, 21 }, out.array(), 0.0);
+    }
+
+    @Test
+    public void testDoubleBuffersAdvanceTogether() {
+        BatchEvaluator evaluator = BatchEvaluator.of(X.times(Y).plus(X), Arrays.asList("x", "y"), 2);
+        DoubleBuffer xs = DoubleBuffer.wrap(new double[] { 1, 2, 3, 4, 5 });
+        DoubleBuffer ys = DoubleBuffer.wrap(new double[] { 4, 5, 6, 7, 8 });
+        DoubleBuffer out = DoubleBuffer.allocate(3);
+        evaluator.evaluate(new DoubleBuffer[] { xs, ys }, out);
+        Assert.assertEquals(3, xs.position());
+        Assert.assertEquals(3, ys.position());
+        Assert.assertEquals(3, out.position());
+        out.clear().limit(2);
+        evaluator.evaluate(new DoubleBuffer[] { xs, ys }, out);
+        Assert.assertArrayEquals(new double[] { 32, 45, 21 }, out.array(), 0.0);
+        Assert.assertFalse(xs.hasRemaining());
+    }
+
+    @Test
+    public void testRegistersAreReused() {
+        Expression e = Constant.ZERO;
+        for (int idx = 0; idx < 50; idx++) {
+            e = e.plus(X.times(Constant.of(idx)));
+        }
+        BatchEvaluator evaluator = BatchEvaluator.of(e, "x");
+        Assert.assertTrue(evaluator.getRegisterCount() < evaluator.getNodeCount() / 2);
+        Assert.assertEquals(1225.0 * 2, evaluator.evaluate(new double[] { 2.0 })[0], 0.0);
+    }
+
+    @Test
+    public void testConstantExpression() {
+        double[] output = new double[2];
+        BatchEvaluator.of(Constant.of(3).plus(Constant.of(4))).evaluate(new double[0][], output);
+        Assert.assertArrayEquals(new double[] { 7, 7 }, output, 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnboundVariable() {
+        BatchEvaluator.of(X.plus(Y), "x");
+    }
+}
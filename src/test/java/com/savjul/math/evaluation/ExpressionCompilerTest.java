@@ -0,0 +1,91 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleUnaryOperator;
+
+public final class ExpressionCompilerTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+
+    @Test
+    public void testPolynomial() {
+        Expression e = X.pow(Constant.of(2)).plus(Constant.of(3).times(X).times(Y)).plus(Constant.of(-7));
+        CompiledExpression f = ExpressionCompiler.compile(e, "x", "y");
+        Assert.assertEquals(4 + 3 * 2 * 5 - 7, f.evaluate(2, 5), 0.0);
+    }
+
+    @Test
+    public void testMatchesCalculator() {
+        Expression e = Trigonometric.sin(X).invert().times(Transcendental.PI)
+                .plus(X.divideBy(Y.pow(Constant.of(3.5))))
+                .plus(Trigonometric.tan(Y).invert().times(Trigonometric.cos(X.times(Y))));
+        CompiledExpression f = ExpressionCompiler.compile(e, "y", "x");
+        for (double x = 0.1; x < 3; x += 0.37) {
+            for (double y = 0.2; y < 3; y += 0.41) {
+                Expression bound = e.apply(VariableExpander.get().add("x", x).add("y", y).build());
+                Assert.assertEquals(Calculator.doubleValue(bound), f.evaluate(y, x), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testUnary() {
+        DoubleUnaryOperator f = ExpressionCompiler.compileUnary(X.times(X).plus(Constant.ONE).divideBy(X), "x");
+        Assert.assertEquals(2.5, f.applyAsDouble(2.0), 0.0);
+    }
+
+    @Test
+    public void testCacheReturnsSameFunction() {
+        Expression e1 = X.plus(Y).times(X);
+        Expression e2 = X.plus(Y).times(X);
+        Assert.assertSame(ExpressionCompiler.compile(e1, "x", "y"), ExpressionCompiler.compile(e2, "x", "y"));
+        Assert.assertNotSame(ExpressionCompiler.compile(e1, "x", "y"), ExpressionCompiler.compile(e1, "y", "x"));
+    }
+
+    @Test
+    public void testConcurrentCompilesShareOneFunction() throws Exception {
+        Expression e = Trigonometric.sin(X.times(Y)).plus(X.pow(Constant.of(3)));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CompiledExpression>> results = new ArrayList<>();
+            for (int idx = 0; idx < 32; idx++) {
+                results.add(executor.submit(() -> ExpressionCompiler.compile(e, "x", "y")));
+            }
+            for (Future<CompiledExpression> result : results) {
+                Assert.assertSame(results.get(0).get(), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedCompileIsNotCached() {
+        int size = ExpressionCompiler.cacheSize();
+        try {
+            ExpressionCompiler.compile(X.plus(Y).plus(Constant.of(7)), "x");
+            Assert.fail("Unbound variable should not compile");
+        } catch (IllegalArgumentException expected) {
+        }
+        Assert.assertTrue(ExpressionCompiler.cacheSize() <= size);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnboundVariable() {
+        ExpressionCompiler.compile(X.plus(Y), "x");
+    }
+}
@@ -0,0 +1,89 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+public final class ExpressionTapeTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+
+    @Test
+    public void testMatchesCalculator() {
+        Expression e = Trigonometric.cos(X).invert().times(Transcendental.E)
+                .plus(X.divideBy(Y.pow(Constant.of(2))))
+                .plus(Trigonometric.tan(Y).invert().times(Trigonometric.sin(X.times(Y))).pow(Constant.of(3)));
+        ExpressionTape tape = ExpressionTape.of(e, "x", "y");
+        double[] stack = new double[tape.getMaxStackDepth()];
+        for (double x = 0.1; x < 3; x += 0.37) {
+            for (double y = 0.2; y < 3; y += 0.41) {
+                Expression bound = e.apply(VariableExpander.get().add("x", x).add("y", y).build());
+                Assert.assertEquals(Calculator.evaluate(bound), tape.evaluate(new double[] { x, y }, stack), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testLengthAndStackDepth() {
+        ExpressionTape tape = ExpressionTape.of(X.plus(Constant.of(2).times(Y)).plus(Constant.of(2)), "x", "y");
+        // x 2 y * + 2 +
+        Assert.assertEquals(7, tape.getLength());
+        Assert.assertEquals(3, tape.getMaxStackDepth());
+        Assert.assertEquals(1, tape.getConstantCount());
+        Assert.assertEquals(9.0, tape.evaluate(3, 2), 0.0);
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        ExpressionTape tape = ExpressionTape.of(Trigonometric.cos(X).pow(Y), "x", "y");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(tape);
+        }
+        ExpressionTape copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (ExpressionTape) in.readObject();
+        }
+        Assert.assertEquals(tape.evaluate(0.5, 3), copy.evaluate(0.5, 3), 0.0);
+        Assert.assertEquals(tape.getVariables(), copy.getVariables());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnboundVariable() {
+        ExpressionTape.of(X.plus(Y), "y");
+    }
+
+    @Test
+    public void testCompilerFallsBackForHugeExpressions() {
+        List<Expression> terms = new ArrayList<>();
+        for (int idx = 1; idx <= 30_000; idx++) {
+            terms.add(Constant.of(idx + 0.5).times(X));
+        }
+        Expression e = Polynomial.of(terms);
+        CompiledExpression f = ExpressionCompiler.compile(e, "x");
+        Assert.assertTrue(f instanceof ExpressionTape);
+        double expected = 0.0;
+        for (int idx = 1; idx <= 30_000; idx++) {
+            expected += (idx + 0.5) * 2.0;
+        }
+        Assert.assertEquals(expected, f.evaluate(2.0), 1e-6);
+        DoubleUnaryOperator g = ExpressionCompiler.compileUnary(e, "x");
+        Assert.assertEquals(expected, g.applyAsDouble(2.0), 1e-6);
+    }
+}
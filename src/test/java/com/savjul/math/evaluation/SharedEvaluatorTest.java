@@ -0,0 +1,67 @@
+package com.savjul.math.evaluation;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.linear.Matrix2D;
+import com.savjul.math.linear.Vector;
+import com.savjul.math.transformers.Calculator;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+public final class SharedEvaluatorTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+
+    @Test
+    public void testMatrixMatchesCalculator() {
+        Expression sx = Trigonometric.sin(X);
+        Expression x2 = X.pow(Constant.of(2));
+        Matrix2D m = Matrix2D.of(new Expression[][] {
+                { sx.times(Y), x2.plus(sx) },
+                { Trigonometric.cos(X).times(x2), sx.divideBy(Y).plus(Transcendental.PI) },
+        });
+        SharedEvaluator evaluator = SharedEvaluator.of(m, "x", "y");
+        double[][] values = evaluator.evaluateMatrix(0.7, 1.9);
+        Function<Expression, Expression> bind = VariableExpander.get().add("x", 0.7).add("y", 1.9).build();
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                Assert.assertEquals(Calculator.evaluate(m.get(i, j).apply(bind)), values[i][j], 1e-12);
+            }
+        }
+        Assert.assertTrue(evaluator.getDeduplicatedCount() > 0);
+        Assert.assertTrue(evaluator.getSlotCount() <= evaluator.getTreeNodeCount() - evaluator.getDeduplicatedCount());
+    }
+
+    @Test
+    public void testSharedSubexpressionGetsOneSlot() {
+        Expression s = Trigonometric.sin(X.times(Y));
+        SharedEvaluator evaluator = SharedEvaluator.of(Vector.of(s, s.plus(Constant.ONE), s.times(X)), "x", "y");
+        // x, y, x*y, sin(x*y), 1, sin(x*y) + 1, sin(x*y) * x
+        Assert.assertEquals(7, evaluator.getSlotCount());
+        double[] values = evaluator.evaluate(2, 3);
+        double expected = Math.sin(6);
+        Assert.assertArrayEquals(new double[] { expected, expected + 1, expected * 2 }, values, 0.0);
+    }
+
+    @Test
+    public void testConstantSubtreesAreFolded() {
+        Expression c = Trigonometric.cos(Constant.of(2)).times(Transcendental.E);
+        SharedEvaluator evaluator = SharedEvaluator.of(Arrays.asList(c.plus(X), c), "x");
+        // cos(2) * e, x, cos(2) * e + x
+        Assert.assertEquals(3, evaluator.getSlotCount());
+        Assert.assertArrayEquals(new double[] { Math.cos(2) * Math.E + 1, Math.cos(2) * Math.E },
+                evaluator.evaluate(1), 1e-15);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnboundVariable() {
+        SharedEvaluator.of(Vector.of(X, Y), "x");
+    }
+}
@@ -1,9 +1,14 @@
 package com.savjul.math.expression;
 
+import com.savjul.math.expression.simple.BigRational;
 import com.savjul.math.expression.simple.Constant;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public final class ConstantTest {
     @Test
     public void testDouble() {
@@ -12,4 +17,76 @@ public final class ConstantTest {
         Assert.assertEquals(Constant.of(100.0), Constant.of(10.0).pow(Constant.of(2.)).simplify());
         Assert.assertEquals(Constant.DOUBLE_ONE, Constant.of(123.45).pow(Constant.of(0.)).simplify());
     }
+
+    @Test
+    public void testSmallIntegersAreCached() {
+        Assert.assertSame(Constant.of(255), Constant.of(255));
+        Assert.assertSame(Constant.MINUS_ONE, Constant.of(-1));
+        Assert.assertSame(Constant.ONE, Constant.of(Integer.valueOf(1)));
+    }
+
+    @Test
+    public void testPrimitiveTypes() {
+        Assert.assertEquals(Constant.Type.INT, Constant.of(3).getType());
+        Assert.assertEquals(Constant.Type.LONG, Constant.of(3L).getType());
+        Assert.assertEquals(Constant.Type.DOUBLE, Constant.of(3.0).getType());
+        Assert.assertFalse(Constant.of(3).equals(Constant.of(3L)));
+        Assert.assertTrue(Constant.of(3L).isSameType(Long.class));
+    }
+
+    @Test
+    public void testMixedTypeFolding() {
+        Assert.assertEquals(Constant.of(5L), Constant.of(2).plus(Constant.of(3L)).simplify());
+        Assert.assertEquals(Constant.of(7.5), Constant.of(3L).times(Constant.of(2.5)).simplify());
+        Assert.assertEquals(Constant.of(8.0), Constant.of(2).pow(Constant.of(3.0)).simplify());
+        Assert.assertEquals(Constant.of(81L), Constant.of(3L).pow(Constant.of(4)).simplify());
+    }
+
+    @Test
+    public void testOverflowPromotes() {
+        Assert.assertEquals(Constant.of(4294967296L), Constant.of(65536).times(Constant.of(65536)).simplify());
+        Assert.assertEquals(Constant.of(2147483648L), Constant.of(Integer.MAX_VALUE).plus(Constant.ONE).simplify());
+        Assert.assertEquals(Constant.of(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)),
+                Constant.of(Long.MAX_VALUE).plus(Constant.of(1L)).simplify());
+        Assert.assertEquals(Constant.of(BigInteger.valueOf(3).pow(100)), Constant.of(3).pow(Constant.of(100)).simplify());
+    }
+
+    @Test
+    public void testExactDivision() {
+        Assert.assertEquals(Constant.of(3), Constant.of(12).divideBy(Constant.of(4)).simplify());
+        Assert.assertEquals(Constant.of(BigRational.of(2, 3)), Constant.of(12).divideBy(Constant.of(18)).simplify());
+        Assert.assertEquals(Constant.of(-1), Constant.of(BigRational.of(1, 3)).times(Constant.of(-3)).simplify());
+        Assert.assertEquals("1/2", Constant.of(1).divideBy(Constant.of(3)).plus(Constant.of(1).divideBy(Constant.of(6))).simplify().toString());
+    }
+
+    @Test
+    public void testRationalPowers() {
+        Assert.assertEquals(Constant.of(BigRational.of(8, 27)),
+                Constant.of(2).divideBy(Constant.of(3)).pow(Constant.of(3)).simplify());
+        Assert.assertEquals(Constant.of(BigRational.of(9, 4)),
+                Constant.of(2).divideBy(Constant.of(3)).pow(Constant.of(-2)).simplify());
+    }
+
+    @Test
+    public void testNumberFactoryNarrows() {
+        Assert.assertEquals(Constant.ONE, Constant.of((Number) BigInteger.ONE));
+        Assert.assertEquals(Constant.of(3), Constant.of((Number) BigRational.of(6, 2)));
+        Assert.assertEquals(Constant.of(Long.MAX_VALUE), Constant.of((Number) BigInteger.valueOf(Long.MAX_VALUE)));
+        Assert.assertEquals(Constant.of(BigRational.of(1, 2)), Constant.of((Number) BigRational.of(1, 2)));
+        Assert.assertEquals(Constant.of(BigRational.of(3, 2)), Constant.of(new BigDecimal("1.5")));
+        Assert.assertEquals(Constant.of(1200), Constant.of(new BigDecimal("1.2E+3")));
+        Assert.assertEquals(Constant.of(7), Constant.of(new AtomicInteger(7)));
+        Assert.assertEquals(Constant.of(0.5), Constant.of(0.5f));
+    }
+
+    @Test
+    public void testRationalDoubleValue() {
+        for (int n = 0; n < 50; n++) {
+            for (int d = 2; d < 50; d++) {
+                Assert.assertEquals(n + "/" + d, (double) n / d, BigRational.of(n, d).doubleValue(), 0.0);
+                Assert.assertEquals(-n + "/" + d, (double) -n / d, BigRational.of(-n, d).doubleValue(), 0.0);
+            }
+        }
+        Assert.assertEquals(Double.MIN_VALUE, BigRational.of(BigInteger.ONE, BigInteger.ONE.shiftLeft(1074)).doubleValue(), 0.0);
+    }
 }
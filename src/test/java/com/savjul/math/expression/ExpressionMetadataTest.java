@@ -0,0 +1,62 @@
+package com.savjul.math.expression;
+
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.BigRational;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+public final class ExpressionMetadataTest {
+    @Test
+    public void testSizeAndDepth() {
+        Expression e = Variable.of("x").pow(Constant.of(2)).plus(Trigonometric.sin(Variable.of("y")));
+        ExpressionMetadata metadata = e.getMetadata();
+        Assert.assertEquals(6, metadata.getSize());
+        Assert.assertEquals(3, metadata.getDepth());
+        Assert.assertFalse(metadata.isConstant());
+    }
+
+    @Test
+    public void testFreeVariables() {
+        Variable x = (Variable) Variable.of("x");
+        Variable y = (Variable) Variable.of("y");
+        Variable z = (Variable) Variable.of("z");
+        Expression e = x.times(y).plus(x).divideBy(Constant.of(3));
+        BitSet expected = new BitSet();
+        expected.set(x.getIndex());
+        expected.set(y.getIndex());
+        Assert.assertEquals(expected, e.getMetadata().getFreeVariables());
+        Assert.assertTrue(e.getMetadata().hasFreeVariable(y.getIndex()));
+        Assert.assertFalse(e.getMetadata().hasFreeVariable(z.getIndex()));
+        Assert.assertEquals("y", Variable.getName(y.getIndex()));
+    }
+
+    @Test
+    public void testConstantness() {
+        Expression e = Constant.of(2).times(Constant.of(3)).plus(Constant.ONE.pow(Constant.of(4)));
+        Assert.assertTrue(e.getMetadata().isConstant());
+        Assert.assertTrue(e.isConstant());
+        Assert.assertEquals(0, e.getMetadata().getFreeVariableCount());
+    }
+
+    @Test
+    public void testHashMatchesStructure() {
+        Expression e1 = Variable.of("x").plus(Constant.ONE).times(Variable.of("y"));
+        Expression e2 = Variable.of("x").plus(Constant.ONE).times(Variable.of("y"));
+        Assert.assertEquals(e1.hashCode(), e2.hashCode());
+        Assert.assertEquals(e1.hashCode(), e1.getMetadata().getHash());
+        Assert.assertFalse(Trigonometric.sin(Variable.of("x")).equals(Trigonometric.cos(Variable.of("x"))));
+    }
+
+    @Test
+    public void testConstantMetadataIsCached() {
+        Expression c = Constant.of(BigRational.of(2, 3));
+        Assert.assertSame(c.getMetadata(), c.getMetadata());
+        Assert.assertEquals(c.hashCode(), c.getMetadata().getHash());
+        Assert.assertEquals(Transcendental.PI.hashCode(), Transcendental.PI.getMetadata().getHash());
+    }
+}
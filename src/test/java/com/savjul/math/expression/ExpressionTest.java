@@ -1,5 +1,7 @@
 package com.savjul.math.expression;
 
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
 import com.savjul.math.expression.compound.Trigonometric;
 import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.expression.simple.Transcendental;
@@ -28,6 +30,62 @@ public final class ExpressionTest {
         Assert.assertEquals("2(x^3)", e1.toString());
     }
 
+    @Test
+    public void testNonAdjacentLikeTermsAreCombined() {
+        Expression x = Variable.of("x");
+        Expression y = Variable.of("y");
+        Expression e = Polynomial.of(Constant.of(2).times(x), y, Constant.of(5), x.times(y), Constant.of(3).times(x),
+                Constant.of(-1).times(y), Constant.of(-5), y.times(x).times(Constant.of(4))).simplify();
+        Assert.assertEquals("5xy + 5x", e.toString());
+    }
+
+    @Test
+    public void testLikeTermsCancel() {
+        Expression x = Variable.of("x");
+        Expression e = Polynomial.of(x.pow(Constant.of(2)), Constant.of(7).times(x), Constant.of(-7).times(x),
+                Constant.MINUS_ONE.times(x.pow(Constant.of(2)))).simplify();
+        Assert.assertEquals(Constant.ZERO, e);
+    }
+
+    @Test
+    public void testSimplifiedExpressionIsReturnedAsIs() {
+        Expression e = Variable.of("x").plus(Constant.ONE).times(Variable.of("y").plus(Constant.of(3))).simplify();
+        Assert.assertTrue(e.isSimplified());
+        Assert.assertSame(e, e.simplify());
+        Assert.assertTrue(Variable.of("x").isSimplified());
+        Assert.assertFalse(Variable.of("x").plus(Variable.of("x")).isSimplified());
+    }
+
+    @Test
+    public void testSubstitutionKeepsUnchangedSubtrees() {
+        Expression unchanged = Variable.of("y").pow(Constant.of(2)).plus(Variable.of("y")).simplify();
+        Expression e = Term.of(Variable.of("x").plus(Constant.ONE), unchanged);
+        Expression substituted = VariableExpander.get().add("x", 2).build().apply(e);
+        Assert.assertSame(unchanged, Term.getFactors(substituted).get(1));
+        Assert.assertSame(unchanged, VariableExpander.get().add("z", 2).build().apply(unchanged));
+        Assert.assertEquals("3(y^2) + 3y", substituted.simplify().toString());
+    }
+
+    @Test
+    public void testTrigonometricFactorsMerge() {
+        Expression sinx = Trigonometric.sin(Variable.of("x"));
+        Expression e = Term.of(sinx, Variable.of("y"), sinx).simplify();
+        Assert.assertEquals("(sin(x)^2)y", e.toString());
+        Assert.assertEquals(e, Term.of(sinx, Variable.of("y"), sinx).simplify().simplify());
+    }
+
+    @Test
+    public void testTrigonometricFactorOrderIsCanonical() {
+        Expression z = Variable.of("z");
+        Expression cscz = Trigonometric.sin(z).invert();
+        Expression csc12z = Trigonometric.sin(Constant.of(-12).times(z)).invert();
+        Expression e = Term.of(z.pow(Constant.of(2)), cscz, csc12z).simplify();
+        Expression reversed = Term.of(z.pow(Constant.of(2)), csc12z, cscz).simplify();
+        Assert.assertEquals(e, reversed);
+        Assert.assertEquals(e.toString(), reversed.toString());
+        Assert.assertEquals(e.toString(), Term.of(Term.getFactors(e)).simplify().toString());
+    }
+
     @Test
     public void testTermMultiplicationByVariable() {
         Expression x = Variable.of("x");
@@ -181,7 +239,7 @@ public final class ExpressionTest {
         Expression e1 = Constant.of(4).divideBy(Constant.of(9));
         Expression e2 = Constant.of(3).divideBy(Constant.of(7));
         Expression result = e1.times(e2).simplify();
-        Assert.assertEquals("12/63", result.toString());
+        Assert.assertEquals("4/21", result.toString());
     }
 
     @Test
@@ -226,7 +284,8 @@ public final class ExpressionTest {
     @Test
     public void testIntegerToNegativePower() {
         Expression e1 = Constant.of(5).pow(Constant.of(-2)).simplify();
-        Assert.assertEquals(Constant.of(1).divideBy(Constant.of(25)), e1);
+        Assert.assertEquals(Constant.of(1).divideBy(Constant.of(25)).simplify(), e1);
+        Assert.assertEquals("1/25", e1.toString());
     }
 
     @Test
@@ -252,6 +311,27 @@ public final class ExpressionTest {
         Assert.assertEquals("πcsc(x)", simplified.toString());
     }
 
+    @Test
+    public void testBuildersCollectFlatNodes() {
+        Expression x = Variable.of("x");
+        Polynomial.Builder sum = Polynomial.builder();
+        Term.Builder product = Term.builder();
+        Assert.assertEquals(Constant.ZERO, sum.build());
+        Assert.assertEquals(Constant.ONE, product.build());
+        Assert.assertSame(x, sum.add(x).build());
+        Assert.assertSame(x, product.multiply(x).build());
+        for (int idx = 1; idx < 5; idx++) {
+            sum.add(x.pow(Constant.of(idx + 1)));
+            product.multiply(Constant.of(idx));
+        }
+        Expression flat = sum.build();
+        Assert.assertEquals(5, ((Polynomial) flat).getTerms().size());
+        Assert.assertEquals(3, flat.getMetadata().getDepth());
+        Assert.assertEquals(x.plus(x.pow(Constant.of(2))).plus(x.pow(Constant.of(3))).plus(x.pow(Constant.of(4)))
+                .plus(x.pow(Constant.of(5))).simplify(), flat.simplify());
+        Assert.assertEquals("24x", product.build().simplify().toString());
+    }
+
     @Test(expected = Exception.class)
     public void testCalculationOnVariableFails() {
         Trigonometric sinx = Trigonometric.sin(Variable.of("x"));
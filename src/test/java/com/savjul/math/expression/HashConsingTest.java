@@ -0,0 +1,66 @@
+package com.savjul.math.expression;
+
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.linear.Matrix2D;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class HashConsingTest {
+    @Before
+    public void setUp() {
+        HashConsing.clear();
+        HashConsing.enable();
+    }
+
+    @After
+    public void tearDown() {
+        HashConsing.disable();
+        HashConsing.clear();
+    }
+
+    @Test
+    public void testLeavesAreShared() {
+        Assert.assertSame(Variable.of("x"), Variable.of("x"));
+        Assert.assertSame(Constant.of(2), Constant.of(2));
+        Assert.assertNotSame(Constant.of(2), Constant.of(2L));
+    }
+
+    @Test
+    public void testCompoundsAreShared() {
+        Expression e1 = Trigonometric.sin(Variable.of("x")).times(Variable.of("y").pow(Constant.of(2)));
+        Expression e2 = Trigonometric.sin(Variable.of("x")).times(Variable.of("y").pow(Constant.of(2)));
+        Assert.assertSame(e1, e2);
+        Assert.assertSame(Trigonometric.sin(Variable.of("x")).invert(), Trigonometric.sin(Variable.of("x")).invert());
+    }
+
+    @Test
+    public void testSimplifiedResultsAreShared() {
+        Expression e1 = Variable.of("x").plus(Constant.ONE).times(Variable.of("x").plus(Constant.of(3))).simplify();
+        Expression e2 = Variable.of("x").plus(Constant.ONE).times(Variable.of("x").plus(Constant.of(3))).simplify();
+        Assert.assertEquals("x^2 + 4x + 3", e1.toString());
+        Assert.assertSame(e1, e2);
+    }
+
+    @Test
+    public void testMatrixEntriesAreShared() {
+        Matrix2D a = Matrix2D.of(new Expression[][] {
+                { Variable.of("a"), Variable.of("b") },
+                { Variable.of("c"), Variable.of("d") },
+        });
+        Expression det1 = a.det().simplify();
+        Expression det2 = a.transpose().det().simplify();
+        Assert.assertSame(det1, det2);
+        Assert.assertTrue(HashConsing.statistics().getHitRate() > 0.0);
+    }
+
+    @Test
+    public void testDisabledAllocatesFreshNodes() {
+        HashConsing.disable();
+        Assert.assertNotSame(Variable.of("x"), Variable.of("x"));
+        Assert.assertEquals(Variable.of("x"), Variable.of("x"));
+    }
+}
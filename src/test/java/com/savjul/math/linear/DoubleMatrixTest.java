@@ -0,0 +1,88 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+
+public final class DoubleMatrixTest {
+    private static DoubleMatrix random(Random random, int rows, int columns) {
+        double[] data = new double[rows * columns];
+        for (int idx = 0; idx < data.length; idx++) {
+            data[idx] = random.nextInt(21) - 10;
+        }
+        return DoubleMatrix.of(rows, columns, data);
+    }
+
+    @Test
+    public void testMultiplyMatchesNaive() {
+        Random random = new Random(3);
+        // sizes straddle the panel edges so partial panels and the four-row remainder are both exercised
+        DoubleMatrix a = random(random, 131, 150);
+        DoubleMatrix b = random(random, 150, 530);
+        DoubleMatrix c = a.times(b);
+        Assert.assertEquals(131, c.rows());
+        Assert.assertEquals(530, c.columns());
+        for (int idx = 0; idx < c.rows(); idx++) {
+            for (int jdx = 0; jdx < c.columns(); jdx++) {
+                double expected = 0.0;
+                for (int k = 0; k < a.columns(); k++) {
+                    expected += a.get(idx, k) * b.get(k, jdx);
+                }
+                Assert.assertEquals(expected, c.get(idx, jdx), 0.0);
+            }
+        }
+        Assert.assertEquals(a, a.times(DoubleMatrix.getI(150)));
+    }
+
+    @Test
+    public void testTranspose() {
+        DoubleMatrix a = random(new Random(5), 97, 130);
+        DoubleMatrix t = a.transpose();
+        Assert.assertEquals(130, t.rows());
+        Assert.assertEquals(97, t.columns());
+        for (int idx = 0; idx < a.rows(); idx++) {
+            for (int jdx = 0; jdx < a.columns(); jdx++) {
+                Assert.assertEquals(a.get(idx, jdx), t.get(jdx, idx), 0.0);
+            }
+        }
+        Assert.assertEquals(a, t.transpose());
+        Assert.assertEquals(a.times(t).transpose(), a.times(t));
+    }
+
+    @Test
+    public void testMatrixVector() {
+        DoubleMatrix a = DoubleMatrix.of(new double[][] {
+                { 1, 2, 3, 4, 5 },
+                { 0, -1, 0, 1, 0 },
+        });
+        DoubleVector v = DoubleVector.of(1, 1, 2, 2, 3);
+        Assert.assertEquals(DoubleVector.of(32, 1), a.times(v));
+        Assert.assertEquals(19.0, v.dot(v), 0.0);
+        Assert.assertEquals(DoubleVector.of(2, 2, 4, 4, 6), v.plus(v));
+    }
+
+    @Test
+    public void testConversion() {
+        Function<Expression, Expression> bindings = VariableExpander.get().add("x", 2).build();
+        Matrix2D symbolic = Matrix2D.of(new Expression[][] {
+                { Variable.of("x"), Constant.of(1).divideBy(Constant.of(4)) },
+                { Variable.of("x").pow(Constant.of(3)), Constant.of(-3) },
+        }).apply(bindings);
+        DoubleMatrix numeric = DoubleMatrix.of(symbolic);
+        Assert.assertEquals(DoubleMatrix.of(2, 2, 2, 0.25, 8, -3), numeric);
+        Assert.assertEquals(numeric, DoubleMatrix.of(numeric.toMatrix2D()));
+        Assert.assertEquals(DoubleMatrix.of(symbolic.times(symbolic).simplify()), numeric.times(numeric));
+        Assert.assertEquals(DoubleVector.of(2, 0.25), DoubleVector.of(Vector.of(Constant.of(2), Constant.of(0.25))));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testSizeMismatch() {
+        DoubleMatrix.zeros(2, 3).times(DoubleMatrix.zeros(2, 3));
+    }
+}
@@ -1,12 +1,16 @@
 package com.savjul.math.linear;
 
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Trigonometric;
 import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
 import com.savjul.math.transformers.VariableExpander;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.util.Random;
 import java.util.function.Function;
 
 public final class Matrix2DTest {
@@ -34,6 +38,14 @@ public final class Matrix2DTest {
         Assert.assertEquals(matrix2D, Matrix2D.getI(3));
     }
 
+    @Test
+    public void testSimplifyIsIdempotentWithoutCopying() {
+        Matrix2D matrix2D = Matrix2D.of(variables(new String[][] { { "a", "b" }, { "c", "d" } }));
+        Matrix2D squared = matrix2D.times(matrix2D).simplify();
+        Assert.assertSame(squared, squared.simplify());
+        Assert.assertEquals(matrix2D.times(matrix2D).simplify(), squared);
+    }
+
     @Test
     public void testMatrixAddition() {
         Matrix2D I3 = Matrix2D.getI(3);
@@ -191,4 +203,281 @@ public final class Matrix2DTest {
         ).simplify();
         Assert.assertEquals(result, A.det().simplify());
     }
+
+    @Test
+    public void testDeterminantWithFractions() {
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { Constant.of(1).divideBy(Constant.of(2)), Constant.of(1).divideBy(Constant.of(3)), },
+                { Constant.of(1).divideBy(Constant.of(4)), Constant.of(1).divideBy(Constant.of(5)), },
+        });
+        Assert.assertEquals("1/60", A.det().simplify().toString());
+    }
+
+    @Test
+    public void testBareissMatchesCofactor() {
+        Matrix2D A = Matrix2D.of(variables(new String[][] {
+                { "a11", "a12", "a13", },
+                { "a21", "a22", "a23", },
+                { "a31", "a32", "a33", },
+        }));
+        Assert.assertEquals(A.det(DeterminantMethod.COFACTOR).simplify(), A.det(DeterminantMethod.BAREISS));
+        Matrix2D B = Matrix2D.of(new Expression[][] {
+                { Constant.of(1).divideBy(Constant.of(2)), Constant.of(1).divideBy(Constant.of(3)), },
+                { Constant.of(1).divideBy(Constant.of(4)), Constant.of(1).divideBy(Constant.of(5)), },
+        });
+        Assert.assertEquals("1/60", B.det(DeterminantMethod.BAREISS).toString());
+    }
+
+    @Test
+    public void testBareissOnSymbolicMatrix() {
+        Expression x = Variable.of("x");
+        Expression y = Variable.of("y");
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { x, Constant.of(2), y, Constant.ONE, Constant.ZERO },
+                { Constant.of(3), x.plus(y), Constant.ZERO, Constant.of(-1), y },
+                { Constant.ONE, Constant.ZERO, x.times(y), Constant.of(2), Constant.ONE },
+                { y, Constant.ONE, Constant.ONE, x, Constant.of(4) },
+                { Constant.of(-2), y, Constant.of(5), Constant.ZERO, x.pow(Constant.of(2)) },
+        });
+        Assert.assertEquals(A.det(DeterminantMethod.COFACTOR).simplify(), A.det(DeterminantMethod.BAREISS));
+        Assert.assertEquals(A.det(DeterminantMethod.BAREISS), A.det());
+    }
+
+    @Test
+    public void testBareissPivoting() {
+        Expression x = Variable.of("x");
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { Constant.ZERO, Constant.ONE, x, Constant.of(2) },
+                { Constant.ZERO, Constant.of(3), Constant.ONE, x },
+                { x, Constant.ZERO, Constant.of(2), Constant.ONE },
+                { Constant.ONE, x, Constant.ZERO, Constant.of(5) },
+        });
+        Assert.assertEquals(A.det(DeterminantMethod.COFACTOR).simplify(), A.det(DeterminantMethod.BAREISS));
+        Matrix2D singular = Matrix2D.of(new Expression[][] {
+                { Constant.ZERO, Constant.ONE, x, Constant.of(2) },
+                { Constant.ZERO, Constant.of(3), Constant.ONE, x },
+                { Constant.ZERO, Constant.ZERO, Constant.of(2), Constant.ONE },
+                { Constant.ZERO, x, Constant.ZERO, Constant.of(5) },
+        });
+        Assert.assertEquals(Constant.ZERO, singular.det(DeterminantMethod.BAREISS));
+    }
+
+    @Test
+    public void testLargeCharacteristicPolynomial() {
+        int n = 12;
+        Expression x = Variable.of("x");
+        Expression[][] entries = new Expression[n][n];
+        Expression[][] shifted = new Expression[n][n];
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                entries[idx][jdx] = Constant.of((idx * 7 + jdx * 3) % 5 - 2 + (idx == jdx ? 3 : 0));
+                shifted[idx][jdx] = idx == jdx ? entries[idx][jdx].plus(Constant.MINUS_ONE.times(x)) : entries[idx][jdx];
+            }
+        }
+        Expression characteristic = Matrix2D.of(shifted).det();
+        Function<Expression, Expression> atZero = VariableExpander.get().add("x", 0).build();
+        Assert.assertEquals(Matrix2D.of(entries).det(), characteristic.apply(atZero).simplify());
+        Assert.assertTrue(characteristic.toString().startsWith("x^12"));
+    }
+
+    @Test
+    public void testNonPolynomialEntriesUseMinorExpansion() {
+        Expression x = Variable.of("x");
+        Expression[][] entries = new Expression[4][4];
+        for (int idx = 0; idx < 4; idx++) {
+            for (int jdx = 0; jdx < 4; jdx++) {
+                entries[idx][jdx] = idx == jdx ? Trigonometric.sin(x) : Constant.of(idx + jdx);
+            }
+        }
+        Matrix2D A = Matrix2D.of(entries);
+        Assert.assertEquals(A.det(DeterminantMethod.COFACTOR).simplify(), A.det());
+        Assert.assertEquals(A.det(DeterminantMethod.MINORS), A.det());
+    }
+
+    @Test
+    public void testInexactPolynomialEntriesUseMinorExpansion() {
+        Expression x = Variable.of("x");
+        Expression y = Variable.of("y");
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { Constant.of(0.1), x, Constant.ONE, y },
+                { Constant.ONE, Constant.of(0.3), x, Constant.ZERO },
+                { y, Constant.of(2), Constant.of(0.7), x },
+                { x, y, Constant.ONE, Constant.of(1.1) },
+        });
+        Assert.assertEquals(A.det(DeterminantMethod.MINORS), A.det());
+        Function<Expression, Expression> point = VariableExpander.get().add("x", 3).add("y", -2).build();
+        Assert.assertEquals(Calculator.evaluate(A.det(DeterminantMethod.COFACTOR).apply(point)),
+                Calculator.evaluate(A.det().apply(point)), 1e-9);
+    }
+
+    @Test
+    public void testMinorsMatchCofactor() {
+        Matrix2D A = Matrix2D.of(variables(new String[][] {
+                { "a11", "a12", "a13", },
+                { "a21", "a22", "a23", },
+                { "a31", "a32", "a33", },
+        }));
+        Assert.assertEquals(A.det(DeterminantMethod.COFACTOR).simplify(), A.det(DeterminantMethod.MINORS));
+        Expression x = Variable.of("x");
+        Expression y = Variable.of("y");
+        Expression[][] entries = new Expression[5][5];
+        for (int idx = 0; idx < 5; idx++) {
+            for (int jdx = 0; jdx < 5; jdx++) {
+                entries[idx][jdx] = idx == jdx ? Trigonometric.sin(x).plus(Constant.of(idx))
+                        : (idx + jdx) % 3 == 0 ? Trigonometric.cos(y).times(Constant.of(idx - jdx))
+                        : Constant.of(idx * jdx - 2);
+            }
+        }
+        Matrix2D B = Matrix2D.of(entries);
+        Expression expected = B.det(DeterminantMethod.COFACTOR).simplify();
+        Assert.assertEquals(expected, B.det(DeterminantMethod.MINORS));
+        Assert.assertEquals(expected, B.det(DeterminantMethod.PARALLEL_MINORS));
+    }
+
+    @Test
+    public void testMinorCacheStatistics() {
+        int n = 6;
+        Expression[][] entries = new Expression[n][n];
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                entries[idx][jdx] = Variable.of("a" + idx + jdx);
+            }
+        }
+        MinorExpansion expansion = MinorExpansion.of(Matrix2D.of(entries));
+        expansion.determinant();
+        MinorExpansion.Statistics statistics = expansion.statistics();
+        // every non-empty column subset once, and each reused by all its supersets with one more column
+        Assert.assertEquals((1 << n) - 1, statistics.getComputed());
+        Assert.assertEquals(n * ((1 << (n - 1)) - 1), statistics.getLookups());
+        Assert.assertEquals(20 + 15, statistics.getPeakSize());
+    }
+
+    @Test
+    public void testMinorsOfSingularMatrix() {
+        Expression x = Variable.of("x");
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { Trigonometric.sin(x), Constant.ONE, Constant.of(2) },
+                { Trigonometric.sin(x), Constant.ONE, Constant.of(2) },
+                { Constant.of(3), x, Trigonometric.cos(x) },
+        });
+        Assert.assertEquals(Constant.ZERO, A.det(DeterminantMethod.MINORS));
+        Assert.assertEquals(Constant.ZERO, A.det(DeterminantMethod.PARALLEL_MINORS));
+    }
+
+    @Test
+    public void testInterpolationMatchesBareiss() {
+        Expression x = Variable.of("x");
+        Expression y = Variable.of("y");
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { x, Constant.of(2), y, Constant.ONE, Constant.ZERO },
+                { Constant.of(3), x.plus(y), Constant.ZERO, Constant.of(-1), y },
+                { Constant.ONE, Constant.ZERO, x.times(y), Constant.of(2), Constant.ONE },
+                { y, Constant.ONE, Constant.ONE, x, Constant.of(4) },
+                { Constant.of(-2), y, Constant.of(5), Constant.ZERO, x.pow(Constant.of(2)) },
+        });
+        Assert.assertEquals(A.det(DeterminantMethod.BAREISS), A.det(DeterminantMethod.INTERPOLATION));
+        Matrix2D B = Matrix2D.of(new Expression[][] {
+                { Constant.of(1).divideBy(Constant.of(2)), x, },
+                { Constant.of(1).divideBy(Constant.of(4)), Constant.of(1).divideBy(Constant.of(5)), },
+        });
+        Assert.assertEquals(B.det(DeterminantMethod.COFACTOR).simplify(), B.det(DeterminantMethod.INTERPOLATION));
+    }
+
+    @Test
+    public void testPowersOfSumsAsEntries() {
+        Expression x = Variable.of("x");
+        Expression y = Variable.of("y");
+        Expression square = x.plus(Constant.ONE).pow(Constant.of(2));
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { square, y, Constant.ONE, Constant.ZERO },
+                { Constant.of(2), x.plus(y).pow(Constant.of(3)), Constant.ZERO, x },
+                { y, Constant.ONE, square, Constant.of(-1) },
+                { Constant.ZERO, x, Constant.of(3), y.plus(Constant.MINUS_ONE).pow(Constant.of(2)) },
+        });
+        Expression expected = A.det(DeterminantMethod.MINORS).expand();
+        Assert.assertEquals(expected, A.det(DeterminantMethod.BAREISS));
+        Assert.assertEquals(expected, A.det(DeterminantMethod.INTERPOLATION));
+        Assert.assertEquals(expected, A.det());
+    }
+
+    @Test
+    public void testInterpolationOfParametricMatrix() {
+        int n = 10;
+        Expression[] parameters = { Variable.of("x"), Variable.of("y"), Variable.of("z") };
+        Expression[][] entries = new Expression[n][n];
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                Expression value = Constant.of((idx * 5 + jdx * 7) % 11 - 5);
+                if ((idx + 2 * jdx) % 3 == 0) {
+                    value = value.plus(parameters[(idx + jdx) % 3].times(Constant.of(jdx % 4 - 2)));
+                }
+                entries[idx][jdx] = value;
+            }
+        }
+        Matrix2D A = Matrix2D.of(entries);
+        Assert.assertEquals(A.det(DeterminantMethod.BAREISS), A.det(DeterminantMethod.INTERPOLATION));
+        Matrix2D constant = Matrix2D.of(new Expression[][] {
+                { Constant.of(2), Constant.of(3) },
+                { Constant.of(4), Constant.of(5) },
+        });
+        Assert.assertEquals(Constant.of(-2), constant.det(DeterminantMethod.INTERPOLATION));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInterpolationRequiresExactEntries() {
+        Matrix2D.of(new Expression[][] {
+                { Variable.of("x"), Constant.of(0.5) },
+                { Constant.ONE, Constant.ONE },
+        }).det(DeterminantMethod.INTERPOLATION);
+    }
+
+    @Test
+    public void testModularMatchesCofactor() {
+        Matrix2D A = Matrix2D.of(new Expression[][] {
+                { Constant.of(2), Constant.of(-3), Constant.of(1), Constant.of(5) },
+                { Constant.of(4), Constant.of(0), Constant.of(-1), Constant.of(2) },
+                { Constant.of(-7), Constant.of(6), Constant.of(3), Constant.of(1) },
+                { Constant.of(1), Constant.of(1), Constant.of(8), Constant.of(-2) },
+        });
+        Assert.assertEquals(A.det(DeterminantMethod.COFACTOR).simplify(), A.det(DeterminantMethod.MODULAR));
+        Assert.assertEquals(A.det(DeterminantMethod.MODULAR), A.det());
+        Matrix2D singular = Matrix2D.of(new Expression[][] {
+                { Constant.of(1), Constant.of(2), Constant.of(3) },
+                { Constant.of(4), Constant.of(5), Constant.of(6) },
+                { Constant.of(7), Constant.of(8), Constant.of(9) },
+        });
+        Assert.assertEquals(Constant.ZERO, singular.det(DeterminantMethod.MODULAR));
+    }
+
+    @Test
+    public void testModularOfLargeIntegerMatrix() {
+        int n = 60;
+        Random random = new Random(7);
+        Expression[][] entries = new Expression[n][n];
+        BigInteger[][] values = new BigInteger[n][n];
+        for (int idx = 0; idx < n; idx++) {
+            for (int jdx = 0; jdx < n; jdx++) {
+                values[idx][jdx] = idx == 0 ? new BigInteger(100, random).subtract(BigInteger.ONE.shiftLeft(99))
+                        : BigInteger.valueOf(random.nextInt(2001) - 1000);
+                entries[idx][jdx] = Constant.of(values[idx][jdx]);
+            }
+        }
+        Assert.assertEquals(Constant.of(Determinants.bareiss(values)), Matrix2D.of(entries).det());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testModularRequiresIntegerEntries() {
+        Matrix2D.of(new Expression[][] {
+                { Constant.of(1).divideBy(Constant.of(2)), Constant.ONE },
+                { Constant.ONE, Constant.ONE },
+        }).det(DeterminantMethod.MODULAR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBareissRequiresPolynomialEntries() {
+        Matrix2D.of(new Expression[][] {
+                { Trigonometric.sin(Variable.of("x")), Constant.ONE },
+                { Constant.ONE, Constant.ONE },
+        }).det(DeterminantMethod.BAREISS);
+    }
 }
@@ -0,0 +1,78 @@
+package com.savjul.math.linear;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+public final class MatrixExecutorTest {
+    private static final Expression[] VARIABLES = { Variable.of("x"), Variable.of("y"), Variable.of("z") };
+
+    private static Matrix2D random(long seed, int rows, int columns) {
+        Random random = new Random(seed);
+        Expression[][] entries = new Expression[rows][columns];
+        for (int idx = 0; idx < rows; idx++) {
+            for (int jdx = 0; jdx < columns; jdx++) {
+                Expression value = Constant.of(random.nextInt(9) - 4);
+                if (random.nextBoolean()) {
+                    value = value.plus(VARIABLES[random.nextInt(3)].times(Constant.of(random.nextInt(5) + 1)));
+                }
+                if (random.nextInt(8) == 0) {
+                    value = value.times(Trigonometric.sin(VARIABLES[random.nextInt(3)]));
+                }
+                entries[idx][jdx] = value;
+            }
+        }
+        return Matrix2D.of(entries);
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MatrixExecutor executor = MatrixExecutor.get().parallel(pool).parallelThreshold(2).build();
+            Matrix2D a = random(1, 9, 7);
+            Matrix2D b = random(2, 7, 11);
+            Assert.assertEquals(a.times(b), executor.times(a, b));
+            Assert.assertEquals(a.times(b).simplify(), executor.timesSimplified(a, b));
+            Assert.assertEquals(a.plus(a), executor.plus(a, a));
+            Assert.assertEquals(a.simplify(), executor.simplify(a));
+            Function<Expression, Expression> bindings = VariableExpander.get().add("x", 2).build();
+            Assert.assertEquals(b.apply(bindings), executor.apply(b, bindings));
+            Vector v = Vector.of(a.get(0, 0), a.get(1, 1).times(a.get(2, 2)), a.get(3, 3), a.get(4, 4));
+            Assert.assertEquals(v.simplify(), executor.simplify(v));
+            Assert.assertEquals(v.apply(bindings), executor.apply(v, bindings));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSimplifiedInputIsReturnedAsIs() {
+        MatrixExecutor executor = MatrixExecutor.get().parallel().build();
+        Matrix2D a = random(3, 5, 5).simplify();
+        Assert.assertSame(a, executor.simplify(a));
+        Matrix2D product = executor.timesSimplified(a, a);
+        Assert.assertSame(product, executor.simplify(product));
+    }
+
+    @Test
+    public void testSequentialByDefault() {
+        Matrix2D a = random(4, 6, 6);
+        MatrixExecutor executor = MatrixExecutor.get().build();
+        Assert.assertEquals(a.times(a).simplify(), executor.timesSimplified(a, a));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdMustAllowSplitting() {
+        MatrixExecutor.get().parallelThreshold(1);
+    }
+}
@@ -1,6 +1,7 @@
 package com.savjul.math.linear;
 
 import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
 import com.savjul.math.expression.simple.Constant;
 import com.savjul.math.expression.simple.Variable;
 import com.savjul.math.transformers.VariableExpander;
@@ -111,4 +112,21 @@ public final class VectorTest {
         Vector v2 = v1.apply(variableExpander);
         Assert.assertEquals("14", v2.dot(v2).simplify().toString());
     }
+
+    @Test
+    public void testLongDotProductIsFlat() {
+        int n = 100000;
+        Expression[] values = new Expression[n];
+        for (int idx = 0; idx < n; idx++) {
+            values[idx] = Constant.of(idx % 7);
+        }
+        Vector v = Vector.of(values);
+        Expression dot = v.dot(v);
+        Assert.assertEquals(n, ((Polynomial) dot).getTerms().size());
+        int expected = 0;
+        for (int idx = 0; idx < n; idx++) {
+            expected += (idx % 7) * (idx % 7);
+        }
+        Assert.assertEquals(Constant.of(expected), dot.simplify());
+    }
 }
@@ -0,0 +1,82 @@
+package com.savjul.math.polynomial;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class DensePolynomialTest {
+    private static final Variable X = (Variable) Variable.of("x");
+
+    @Test
+    public void testAlgorithmsAgree() {
+        Random random = new Random(7);
+        for (int n : new int[] { 1, 5, 47, 48, 100, 193, 500 }) {
+            DensePolynomial a = random(random, n, 30);
+            DensePolynomial b = random(random, n + random.nextInt(50), 30);
+            DensePolynomial expected = a.times(b, DensePolynomial.Multiplication.SCHOOLBOOK);
+            Assert.assertEquals(expected, a.times(b, DensePolynomial.Multiplication.KARATSUBA));
+            Assert.assertEquals(expected, a.times(b, DensePolynomial.Multiplication.NTT));
+            Assert.assertEquals(expected, a.times(b));
+        }
+    }
+
+    @Test
+    public void testLargeCoefficientsAvoidNtt() {
+        Random random = new Random(11);
+        DensePolynomial a = random(random, 300, 200);
+        DensePolynomial b = random(random, 300, 200);
+        Assert.assertEquals(a.times(b, DensePolynomial.Multiplication.SCHOOLBOOK), a.times(b));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testNttRejectsInexactProducts() {
+        Random random = new Random(3);
+        random(random, 10, 60).times(random(random, 10, 60), DensePolynomial.Multiplication.NTT);
+    }
+
+    @Test
+    public void testExpressionConversion() {
+        Expression e = Variable.of("x").pow(Constant.of(3)).times(Constant.of(2)).plus(Constant.of(-5)).plus(Variable.of("x"));
+        DensePolynomial p = DensePolynomial.of(e, X);
+        Assert.assertEquals(DensePolynomial.of(-5, 1, 0, 2), p);
+        Assert.assertEquals(e.simplify(), p.toExpression(X));
+        Assert.assertFalse(DensePolynomial.isDensePolynomial(e.times(Variable.of("y")), X));
+        Assert.assertFalse(DensePolynomial.isDensePolynomial(e.times(Constant.of(0.5)), X));
+    }
+
+    @Test
+    public void testSimplifierUsesDenseMultiplication() {
+        List<Expression> a = new ArrayList<>();
+        List<Expression> b = new ArrayList<>();
+        long[] ac = new long[80];
+        long[] bc = new long[80];
+        for (int idx = 0; idx < 80; idx++) {
+            ac[idx] = idx + 1;
+            bc[idx] = 2 * idx - 79;
+            a.add(Constant.of(ac[idx]).times(X.pow(Constant.of(idx))));
+            b.add(Constant.of(bc[idx]).times(X.pow(Constant.of(idx))));
+        }
+        Expression product = Polynomial.of(a).times(Polynomial.of(b)).simplify();
+        DensePolynomial expected = DensePolynomial.of(ac).times(DensePolynomial.of(bc), DensePolynomial.Multiplication.SCHOOLBOOK);
+        Assert.assertEquals(expected, DensePolynomial.of(product, X));
+        Assert.assertEquals(expected.toExpression(X), product);
+    }
+
+    private static DensePolynomial random(Random random, int length, int bits) {
+        BigInteger[] coefficients = new BigInteger[length];
+        for (int idx = 0; idx < length; idx++) {
+            BigInteger value = new BigInteger(bits, random);
+            coefficients[idx] = random.nextBoolean() ? value.negate() : value;
+        }
+        coefficients[length - 1] = coefficients[length - 1].setBit(0);
+        return DensePolynomial.of(coefficients);
+    }
+}
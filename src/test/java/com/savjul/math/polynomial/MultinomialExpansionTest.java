@@ -0,0 +1,128 @@
+package com.savjul.math.polynomial;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.transformers.Calculator;
+import com.savjul.math.transformers.VariableExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class MultinomialExpansionTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+    private static final Expression Z = Variable.of("z");
+
+    @Test
+    public void testBinomials() {
+        Assert.assertEquals(BigInteger.valueOf(252), Binomials.binomial(10, 5));
+        Assert.assertEquals(BigInteger.valueOf(4950), Binomials.binomial(100, 98));
+        Assert.assertEquals(BigInteger.ZERO, Binomials.binomial(3, 4));
+        Assert.assertEquals(new BigInteger("100891344545564193334812497256"), Binomials.binomial(100, 50));
+        Assert.assertEquals(BigInteger.valueOf(60), Binomials.multinomial(new int[] { 3, 2, 1 }));
+    }
+
+    @Test
+    public void testBinomialExpansion() {
+        Expression e = X.plus(Constant.ONE).pow(Constant.of(2)).expand();
+        Assert.assertEquals("x^2 + 2x + 1", e.toString());
+        Assert.assertEquals("(x + 1)^2", X.plus(Constant.ONE).times(X.plus(Constant.ONE)).simplify().toString());
+    }
+
+    @Test
+    public void testTrinomialMatchesRepeatedMultiplication() {
+        Polynomial base = (Polynomial) X.plus(Constant.of(2).times(Y)).plus(Constant.MINUS_ONE.times(Z));
+        MultinomialExpansion expansion = MultinomialExpansion.of(base, 6);
+        Assert.assertEquals(28, expansion.getTermCount());
+        Assert.assertEquals(SparsePolynomial.of(base).pow(6), expansion.toSparse());
+        Assert.assertEquals(28, expansion.stream().count());
+    }
+
+    @Test
+    public void testLargePowerStaysSmall() {
+        Polynomial base = (Polynomial) X.plus(Y).plus(Z);
+        SparsePolynomial p = MultinomialExpansion.of(base, 30).toSparse();
+        Assert.assertEquals(496, p.getTermCount());
+        Assert.assertEquals(Constant.of(BigInteger.valueOf(3).pow(30)), sumOfCoefficients(p));
+    }
+
+    @Test
+    public void testStreamingIsLazy() {
+        Polynomial base = (Polynomial) X.plus(Y).plus(Z).plus(Constant.ONE);
+        List<Expression> first = MultinomialExpansion.of(base, 1000).stream().limit(2).collect(Collectors.toList());
+        Assert.assertEquals("x^1000", first.get(0).toString());
+        Assert.assertEquals("1000(x^999)y", first.get(1).toString());
+    }
+
+    @Test
+    public void testProductOfSumTerm() {
+        Expression base = X.times(Y.plus(Constant.ONE)).plus(Constant.ONE);
+        Expression expected = SparsePolynomial.of(base).pow(2).toExpression();
+        Assert.assertEquals(expected, base.pow(Constant.of(2)).expand());
+        MultinomialExpansion expansion = MultinomialExpansion.of((Polynomial) base, 3);
+        Assert.assertTrue(expansion.isPolynomial());
+        Assert.assertEquals(SparsePolynomial.of(base).pow(3), expansion.toSparse());
+        SparsePolynomial streamed = SparsePolynomial.ZERO;
+        for (Expression term : expansion.stream().collect(Collectors.toList())) {
+            streamed = streamed.plus(SparsePolynomial.of(term));
+        }
+        Assert.assertEquals(SparsePolynomial.of(base).pow(3), streamed);
+    }
+
+    @Test
+    public void testNonPolynomialBase() {
+        Expression s = Trigonometric.sin(X);
+        Expression e = s.plus(Y).pow(Constant.of(3)).expand();
+        Function<Expression, Expression> bind = VariableExpander.get().add("x", 0.3).add("y", 1.7).build();
+        Assert.assertEquals(Math.pow(Math.sin(0.3) + 1.7, 3), Calculator.evaluate(e.apply(bind)), 1e-12);
+        Assert.assertTrue(e instanceof Polynomial);
+        Assert.assertEquals(4, ((Polynomial) e).getTerms().size());
+    }
+
+    @Test
+    public void testProductAndQuotientBases() {
+        Expression e = X.times(Y.plus(Constant.ONE)).pow(Constant.of(2)).expand();
+        Assert.assertEquals("(x^2)(y^2) + 2(x^2)y + x^2", e.toString());
+        Expression q = X.plus(Constant.ONE).divideBy(Y).pow(Constant.of(2)).expand();
+        Assert.assertEquals("(x^2 + 2x + 1)/y^2", q.toString());
+    }
+
+    @Test
+    public void testProductsOfSumsAreDistributed() {
+        Expression sum = X.plus(Constant.ONE);
+        Expression square = sum.pow(Constant.of(2));
+        Assert.assertEquals("x^2 + 2x + 1", Term.of(sum, sum).expand().toString());
+        Assert.assertEquals(SparsePolynomial.of(X.plus(Constant.ONE)).pow(4).toExpression(),
+                square.times(square).expand());
+        Expression e = Term.of(square, square, X).expand();
+        Assert.assertEquals(SparsePolynomial.of(X.plus(Constant.ONE)).pow(4).times(SparsePolynomial.of(X)).toExpression(), e);
+        Assert.assertEquals("xsin(x) + ysin(x) + x + y", Term.of(X.plus(Y), Trigonometric.sin(X).plus(Constant.ONE)).expand().toString());
+    }
+
+    @Test
+    public void testExpandIsIdempotent() {
+        Expression sum = X.plus(Constant.ONE);
+        Expression square = sum.pow(Constant.of(2));
+        for (Expression e : new Expression[] { Term.of(sum, sum), square.times(square), Term.of(square, square, X),
+                Term.of(Y.plus(Trigonometric.sin(X)), sum, sum).divideBy(Z) }) {
+            Expression expanded = e.expand();
+            Assert.assertEquals(expanded, expanded.expand());
+        }
+    }
+
+    private static Constant<?> sumOfCoefficients(SparsePolynomial p) {
+        Constant<?> sum = Constant.ZERO;
+        for (Constant<?> coefficient : p.terms().values()) {
+            sum = com.savjul.math.transformers.ConstantFolding.add(sum, coefficient);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,125 @@
+package com.savjul.math.polynomial;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.BigRational;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.linear.Matrix2D;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class SparsePolynomialTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+    private static final Expression Z = Variable.of("z");
+
+    @Test
+    public void testRecognisesPolynomials() {
+        Assert.assertTrue(SparsePolynomial.isPolynomial(X.pow(Constant.of(3)).times(Y).plus(Constant.of(2))));
+        Assert.assertFalse(SparsePolynomial.isPolynomial(X.pow(Constant.of(-1))));
+        Assert.assertFalse(SparsePolynomial.isPolynomial(X.pow(Y)));
+        Assert.assertFalse(SparsePolynomial.isPolynomial(Transcendental.PI.times(X)));
+        Assert.assertFalse(SparsePolynomial.isPolynomial(Trigonometric.sin(X)));
+        Assert.assertFalse(SparsePolynomial.isPolynomial(X.divideBy(Y)));
+        Assert.assertTrue(SparsePolynomial.isPolynomial(X.plus(Constant.ONE).pow(Constant.of(2))));
+        Assert.assertEquals(SparsePolynomial.of(X.plus(Constant.ONE)).times(SparsePolynomial.of(X.plus(Constant.ONE))),
+                SparsePolynomial.of(X.plus(Constant.ONE).pow(Constant.of(2))));
+        Assert.assertEquals(SparsePolynomial.of(X.times(Y)).pow(3), SparsePolynomial.of(X.times(Y).pow(Constant.of(3))));
+    }
+
+    @Test
+    public void testMultiplyMatchesSimplifier() {
+        SparsePolynomial a = SparsePolynomial.of(X.plus(Constant.ONE));
+        SparsePolynomial b = SparsePolynomial.of(X.plus(Constant.of(3)));
+        Expression product = a.times(b).toExpression();
+        Assert.assertEquals("x^2 + 4x + 3", product.toString());
+        Assert.assertEquals(product, product.simplify());
+    }
+
+    @Test
+    public void testToExpressionIsCanonical() {
+        SparsePolynomial p = SparsePolynomial.of(X.plus(Constant.of(2).times(Y)).plus(Constant.MINUS_ONE.times(Z))).pow(3);
+        Expression e = p.toExpression();
+        Assert.assertEquals(10, p.getTermCount());
+        Assert.assertEquals(3, p.getDegree());
+        Assert.assertEquals(e, e.simplify());
+        Assert.assertEquals(p, SparsePolynomial.of(e));
+    }
+
+    @Test
+    public void testLikeTermsCancel() {
+        SparsePolynomial p = SparsePolynomial.of(X.plus(Y));
+        SparsePolynomial q = SparsePolynomial.of(X.plus(Constant.MINUS_ONE.times(Y)));
+        Assert.assertEquals("x^2 + -1(y^2)", p.times(q).toString());
+        Assert.assertTrue(p.minus(p).isZero());
+        Assert.assertEquals(Constant.ZERO, p.minus(p).toExpression());
+    }
+
+    @Test
+    public void testExactCoefficients() {
+        SparsePolynomial p = SparsePolynomial.of(Constant.of(BigRational.of(1, 3)).times(X)
+                .plus(Constant.of(Long.MAX_VALUE)));
+        SparsePolynomial square = p.pow(2);
+        Assert.assertEquals(Constant.of(BigInteger.valueOf(Long.MAX_VALUE).pow(2)), square.getConstantTerm());
+        Assert.assertEquals(p, square.divideExact(p));
+    }
+
+    @Test
+    public void testDivideExact() {
+        SparsePolynomial x = SparsePolynomial.of(X);
+        SparsePolynomial y = SparsePolynomial.of(Y);
+        SparsePolynomial difference = x.pow(2).minus(y.pow(2));
+        Assert.assertEquals(x.plus(y), difference.divideExact(x.minus(y)));
+        Assert.assertEquals(SparsePolynomial.ZERO, SparsePolynomial.ZERO.divideExact(x));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivideInexact() {
+        SparsePolynomial.of(X.pow(Constant.of(2)).plus(Constant.ONE)).divideExact(SparsePolynomial.of(X.plus(Constant.ONE)));
+    }
+
+    @Test
+    public void testEvaluate() {
+        SparsePolynomial p = SparsePolynomial.of(X.pow(Constant.of(2)).times(Y).plus(Constant.of(1).divideBy(Constant.of(2)).simplify()));
+        Map<Variable, BigRational> point = new HashMap<>();
+        point.put((Variable) X, BigRational.valueOf(3));
+        point.put((Variable) Y, BigRational.of(1, 3));
+        Assert.assertEquals(BigRational.of(7, 2), p.evaluate(point));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEvaluateMissingVariable() {
+        SparsePolynomial.of(X.times(Y)).evaluate(Collections.singletonMap((Variable) X, BigRational.ONE));
+    }
+
+    @Test
+    public void testNarrowCoefficients() {
+        SparsePolynomial wide = SparsePolynomial.constant(Constant.of(Long.MAX_VALUE)).times(SparsePolynomial.of(X))
+                .minus(SparsePolynomial.constant(Constant.of(Long.MAX_VALUE - 2)).times(SparsePolynomial.of(X)));
+        Assert.assertFalse(SparsePolynomial.of(Constant.of(2).times(X)).equals(wide));
+        Assert.assertEquals(SparsePolynomial.of(Constant.of(2).times(X)), wide.narrow());
+    }
+
+    @Test
+    public void testSymbolicDeterminant() {
+        Matrix2D m = Matrix2D.of(new Expression[][] {
+                { X.plus(Constant.ONE), Y, Constant.of(2) },
+                { Constant.of(3), X.plus(Y), Z },
+                { Y.plus(Z), Constant.ONE, X },
+        });
+        Expression det = m.det().simplify();
+        Expression expected = SparsePolynomial.of(X.plus(Constant.ONE)).times(SparsePolynomial.of(X.plus(Y)).times(SparsePolynomial.of(X))
+                .minus(SparsePolynomial.of(Z)))
+                .minus(SparsePolynomial.of(Y).times(SparsePolynomial.of(Constant.of(3).times(X)).minus(SparsePolynomial.of(Z.times(Y.plus(Z))))))
+                .plus(SparsePolynomial.of(Constant.of(2)).times(SparsePolynomial.of(Constant.of(3)).minus(SparsePolynomial.of(X.plus(Y).times(Y.plus(Z))))))
+                .toExpression();
+        Assert.assertEquals(expected, det);
+    }
+}
@@ -0,0 +1,103 @@
+package com.savjul.math.rewrite;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class RuleSetTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+    private static final Expression A = Pattern.variable("a");
+    private static final Expression B = Pattern.variable("b");
+
+    @Test
+    public void testPatternBindsVariables() {
+        Map<String, Expression> bindings = new HashMap<>();
+        Assert.assertTrue(Pattern.match(A.pow(B), X.plus(Y).pow(Constant.of(3)), bindings));
+        Assert.assertEquals(X.plus(Y), bindings.get("?a"));
+        Assert.assertEquals(Constant.of(3), bindings.get("?b"));
+    }
+
+    @Test
+    public void testRepeatedPatternVariableMustBindEqualExpressions() {
+        RewriteRule rule = RewriteRule.of("self-quotient", A.divideBy(A), Constant.ONE);
+        Assert.assertEquals(Constant.ONE, rule.apply(X.plus(Y).divideBy(X.plus(Y))));
+        Assert.assertNull(rule.apply(X.divideBy(Y)));
+    }
+
+    @Test
+    public void testDoubleAngle() {
+        RuleSet rules = RuleSet.get()
+                .add("double-angle", Term.of(Constant.of(2), Trigonometric.sin(A), Trigonometric.cos(A)),
+                        Trigonometric.sin(Constant.of(2).times(A)))
+                .build();
+        Expression e = Polynomial.of(Term.of(Constant.of(2), Trigonometric.sin(X), Trigonometric.cos(X)), Y);
+        Assert.assertEquals("sin(2x) + y", rules.apply(e).toString());
+        Assert.assertEquals(1, rules.statistics().getHits("double-angle"));
+    }
+
+    @Test
+    public void testReplacementIsRewrittenAgain() {
+        RuleSet rules = RuleSet.get()
+                .add("pythagorean", Polynomial.of(Trigonometric.sin(A).pow(Constant.of(2)),
+                        Trigonometric.cos(A).pow(Constant.of(2))), Constant.ONE)
+                .add("tangent-square", Trigonometric.tan(A).pow(Constant.of(2)),
+                        Polynomial.of(Trigonometric.cos(A).invert().pow(Constant.of(2)), Constant.MINUS_ONE))
+                .add("secant", Trigonometric.cos(A).invert(), Constant.ONE.divideBy(Trigonometric.cos(A)))
+                .build();
+        Expression e = Trigonometric.tan(X.times(Y)).pow(Constant.of(2));
+        Assert.assertEquals("1/cos(xy)^2 + -1", rules.apply(e).toString());
+    }
+
+    @Test
+    public void testConditionalRule() {
+        RuleSet rules = RuleSet.get()
+                .add(RewriteRule.of("even-cosine", Trigonometric.cos(Constant.MINUS_ONE.times(A)), Trigonometric.cos(A))
+                        .when(bindings -> bindings.get("?a") instanceof Variable))
+                .build();
+        Assert.assertEquals(Trigonometric.cos(X), rules.apply(Trigonometric.cos(Constant.MINUS_ONE.times(X))));
+        Expression e = Trigonometric.cos(Constant.MINUS_ONE.times(X.plus(Y)));
+        Assert.assertEquals(e, rules.apply(e));
+    }
+
+    @Test
+    public void testIndexNarrowsCandidates() {
+        RuleSet.Builder builder = RuleSet.get();
+        for (int idx = 0; idx < 300; idx++) {
+            builder.add("power-" + idx, A.pow(Constant.of(idx + 2)), Constant.of(idx));
+        }
+        builder.add("square-sum", Polynomial.of(A, A), Constant.of(2).times(A));
+        RuleSet rules = builder.build();
+        Assert.assertEquals(1, rules.candidates(X.pow(Constant.of(17))).size());
+        Assert.assertEquals("power-15", rules.candidates(X.pow(Constant.of(17))).get(0).getName());
+        Assert.assertEquals(1, rules.candidates(X.plus(Y)).size());
+        Assert.assertTrue(rules.candidates(X.times(Y)).isEmpty());
+        Assert.assertTrue(rules.candidates(X.pow(Y)).isEmpty());
+    }
+
+    @Test
+    public void testStatistics() {
+        RuleSet rules = RuleSet.get().add("square-sum", Polynomial.of(A, A), Constant.of(2).times(A)).build();
+        rules.apply(Polynomial.of(X, X).pow(Polynomial.of(Y, Y)));
+        RuleSet.Statistics statistics = rules.statistics();
+        Assert.assertEquals(2, statistics.getHits("square-sum"));
+        Assert.assertTrue(statistics.getLookups() > 0);
+        Assert.assertTrue(statistics.getCandidatesPerLookup() <= 1.0);
+        rules.resetStatistics();
+        Assert.assertEquals(0, rules.statistics().getHits("square-sum"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCyclicRulesAreStopped() {
+        RuleSet rules = RuleSet.get().maxSteps(50).add("swap", A.plus(B), B.plus(A)).build();
+        rules.apply(X.plus(Y));
+    }
+}
@@ -0,0 +1,56 @@
+package com.savjul.math.transformers;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Transcendental;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+public final class CalculatorTest {
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    public void testCompensatedSum() {
+        Expression e = Polynomial.of(Constant.of(1e16), Constant.of(1.0), Constant.of(-1e16), Constant.of(1.0));
+        Assert.assertEquals(2.0, Calculator.evaluate(e), 0.0);
+    }
+
+    @Test
+    public void testMixedExpression() {
+        Expression e = Trigonometric.cos(Transcendental.PI).times(Constant.of(3))
+                .plus(Constant.of(2).pow(Constant.of(10)).divideBy(Constant.of(4)));
+        Assert.assertEquals(253.0, Calculator.evaluate(e), 1e-12);
+        Assert.assertEquals(Double.valueOf(253.0), Calculator.doubleValue(e), 1e-12);
+    }
+
+    @Test
+    public void testEvaluationDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        Expression e = Trigonometric.sin(Constant.of(0.5).times(Transcendental.PI)).invert()
+                .plus(Constant.of(3).pow(Constant.of(2.5)))
+                .plus(Constant.of(7).divideBy(Constant.of(3)))
+                .plus(Constant.of(1.5).times(Constant.of(-2)).times(Constant.of(4L)));
+        double sink = 0.0;
+        for (int idx = 0; idx < ITERATIONS; idx++) {
+            sink += Calculator.evaluate(e);
+        }
+        long thread = Thread.currentThread().getId();
+        long overhead = -threads.getThreadAllocatedBytes(thread) + threads.getThreadAllocatedBytes(thread);
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int idx = 0; idx < ITERATIONS; idx++) {
+            sink += Calculator.evaluate(e);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+        Assert.assertTrue(sink != 0.0);
+        Assert.assertEquals(0, allocated / ITERATIONS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.savjul.math.transformers;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.compound.Polynomial;
+import com.savjul.math.expression.compound.Term;
+import com.savjul.math.expression.compound.Trigonometric;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+public final class ParallelSimplificationTest {
+    private static final Expression[] VARIABLES = { Variable.of("x"), Variable.of("y"), Variable.of("z") };
+
+    // like terms spread across the whole sum, nested sums, products of sums and a few non-numeric constants
+    private static Expression polynomial(long seed, int terms) {
+        Random random = new Random(seed);
+        List<Expression> result = new ArrayList<>(terms);
+        for (int idx = 0; idx < terms; idx++) {
+            List<Expression> factors = new ArrayList<>();
+            factors.add(random.nextInt(10) == 0 ? Constant.of(random.nextDouble()) : Constant.of(random.nextInt(19) - 9));
+            for (Expression variable : VARIABLES) {
+                int power = random.nextInt(4);
+                if (power > 0) {
+                    factors.add(power == 1 ? variable : variable.pow(Constant.of(power)));
+                }
+            }
+            switch (random.nextInt(20)) {
+                case 0: factors.add(Polynomial.of(VARIABLES[0], Constant.ONE)); break;
+                case 1: factors.add(Trigonometric.sin(VARIABLES[1])); break;
+                case 2: result.add(Polynomial.of(Term.of(factors), VARIABLES[2])); continue;
+                case 3: result.add(Trigonometric.cos(Constant.of(idx))); continue;
+                default:
+            }
+            result.add(Term.of(factors));
+        }
+        return Polynomial.of(result);
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Function<Expression, Expression> parallel = ExpressionSimplifier.get().parallel(pool).parallelThreshold(16)
+                    .build();
+            for (int terms : new int[] { 10, 100, 5000 }) {
+                Expression sequential = ExpressionSimplifier.instance().apply(polynomial(terms, terms));
+                Expression result = parallel.apply(polynomial(terms, terms));
+                Assert.assertEquals(sequential, result);
+                Assert.assertEquals(sequential.toString(), result.toString());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNestedParallelismOnCommonPool() {
+        Function<Expression, Expression> parallel = ExpressionSimplifier.get().parallel().parallelThreshold(4).build();
+        Expression sequential = ExpressionSimplifier.instance().apply(polynomial(7, 10).times(polynomial(8, 10)));
+        Assert.assertEquals(sequential, parallel.apply(polynomial(7, 10).times(polynomial(8, 10))));
+    }
+
+    @Test
+    public void testConcurrentUseOfSharedSimplifier() throws Exception {
+        Function<Expression, Expression> simplifier = ExpressionSimplifier.get().cache(1 << 12).parallel()
+                .parallelThreshold(64).build();
+        Expression expected = ExpressionSimplifier.instance().apply(polynomial(3, 2000));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Expression>> results = new ArrayList<>();
+            for (int idx = 0; idx < 16; idx++) {
+                results.add(executor.submit(() -> simplifier.apply(polynomial(3, 2000))));
+            }
+            for (Future<Expression> result : results) {
+                Assert.assertEquals(expected, result.get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdMustAllowSplitting() {
+        ExpressionSimplifier.get().parallelThreshold(1);
+    }
+}
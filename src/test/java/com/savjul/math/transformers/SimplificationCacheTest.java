@@ -0,0 +1,85 @@
+package com.savjul.math.transformers;
+
+import com.savjul.math.expression.Expression;
+import com.savjul.math.expression.simple.Constant;
+import com.savjul.math.expression.simple.Variable;
+import com.savjul.math.linear.Matrix2D;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+public final class SimplificationCacheTest {
+    private static final Expression X = Variable.of("x");
+    private static final Expression Y = Variable.of("y");
+
+    @Test
+    public void testRepeatedSimplificationHitsCache() {
+        SimplificationCache cache = SimplificationCache.of(1024);
+        Function<Expression, Expression> simplifier = ExpressionSimplifier.get().cache(cache).build();
+        Expression e = X.plus(Constant.ONE).times(X.plus(Constant.of(3))).times(Y);
+        Expression first = e.apply(simplifier);
+        long misses = cache.statistics().getMisses();
+        Expression second = e.apply(simplifier);
+        Assert.assertEquals(e.simplify(), first);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(misses, cache.statistics().getMisses());
+        Assert.assertTrue(cache.statistics().getHits() >= 1);
+    }
+
+    @Test
+    public void testRelatedMatricesShareWork() {
+        SimplificationCache cache = SimplificationCache.of(4096);
+        Function<Expression, Expression> simplifier = ExpressionSimplifier.get().cache(cache).build();
+        Matrix2D a = Matrix2D.of(new Expression[][] {
+                { X.plus(Constant.ONE), Y.times(Constant.of(2)) },
+                { Constant.of(3), X.plus(Constant.MINUS_ONE.times(Y)) },
+        });
+        Matrix2D b = a.times(a).apply(simplifier);
+        long misses = cache.statistics().getMisses();
+        Matrix2D c = a.times(a).plus(a).apply(simplifier);
+        Assert.assertEquals(a.times(a).plus(a).simplify(), c);
+        Assert.assertEquals(a.times(a).simplify(), b);
+        Assert.assertTrue(cache.statistics().getMisses() - misses < misses);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        SimplificationCache cache = SimplificationCache.of(16);
+        for (int idx = 0; idx < 1000; idx++) {
+            cache.put(X.plus(Constant.of(idx)), X);
+        }
+        SimplificationCache.Statistics statistics = cache.statistics();
+        Assert.assertTrue(statistics.getSize() <= 16);
+        Assert.assertEquals(1000 - statistics.getSize(), statistics.getEvictions());
+        Assert.assertSame(X, cache.get(X.plus(Constant.of(999))));
+        Assert.assertNull(cache.get(X.plus(Constant.of(0))));
+        cache.clear();
+        Assert.assertEquals(0, cache.statistics().getSize());
+    }
+
+    @Test
+    public void testWeakKeys() {
+        SimplificationCache cache = SimplificationCache.weak(64);
+        Expression e = X.plus(X);
+        Expression simplified = e.apply(ExpressionSimplifier.get().cache(cache).build());
+        Assert.assertTrue(cache.hasWeakKeys());
+        Assert.assertEquals(simplified, cache.get(X.plus(X)));
+        Expression same = Y.times(Constant.of(2));
+        cache.put(same, same);
+        Assert.assertSame(same, cache.get(same));
+    }
+
+    @Test
+    public void testInstall() {
+        Function<Expression, Expression> previous = ExpressionSimplifier.instance();
+        try {
+            Function<Expression, Expression> cached = ExpressionSimplifier.get().cache(128).install();
+            Assert.assertSame(cached, ExpressionSimplifier.instance());
+            Assert.assertEquals("2x", X.plus(X).simplify().toString());
+        } finally {
+            ExpressionSimplifier.get().install();
+        }
+        Assert.assertSame(previous, ExpressionSimplifier.instance());
+    }
+}